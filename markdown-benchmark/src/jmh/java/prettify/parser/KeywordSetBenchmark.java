@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import syntaxhighlight.TokenStream;
+
+/**
+ * The keyword patterns matched by {@link KeywordSet} against the regex.
+ * <p>
+ * {@link #highlightTrie()} highlights 20k tokens of mostly distinct identifiers, {@link #highlightRegex()} highlights them
+ * with the keyword sets of the lexer cleared, so every fallthrough pattern is matched by the regex as before.
+ * {@link #matchTrie(Blackhole)} and {@link #matchRegex(Blackhole)} match the tokens against the keywords of the language only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class KeywordSetBenchmark {
+    private static final int TOKEN_COUNT = 20000;
+    private static final String[] WORDS = ("SELECT select FROM where return if else while for function class public static void "
+            + "int String foo bar baz_qux x1 y2 BEGIN END begin end local then elseif module import let in where case of "
+            + "data type val def object trait match yield proc set puts").split(" ");
+
+    @Param({"java", "c", "py", "pascal", "vhdl", "js", "rb", "hs", "lua"})
+    public String language;
+
+    private String source;
+    private String[] tokens;
+    private Prettify.CreateSimpleLexer lexer;
+    private Prettify.CreateSimpleLexer regexLexer;
+    private KeywordSet keywordSet;
+    private Pattern keywordPattern;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        StringBuilder sb = new StringBuilder();
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = random.nextInt(3) == 0 ? WORDS[random.nextInt(WORDS.length)] : "id" + Integer.toString(random.nextInt(1000000), 36);
+            sb.append(tokens[i]).append(i % 12 == 11 ? "\n" : (i % 5 == 0 ? "(" : " "));
+        }
+        source = sb.toString();
+
+        lexer = new Prettify().langHandlerForExtension(language, source);
+        //the first keyword pattern of the language
+        for (int i = 0; i < lexer.nPatterns && keywordSet == null; i++) {
+            if (lexer.fallthroughKeywordSets[i] != null) {
+                keywordSet = lexer.fallthroughKeywordSets[i];
+                keywordPattern = (Pattern) lexer.fallthroughStylePatterns.get(i).get(1);
+            }
+        }
+        if (keywordSet == null) {
+            throw new IllegalStateException("no keyword pattern in " + language);
+        }
+        regexLexer = new Prettify().langHandlerForExtension(language, source);
+        regexLexer.fallthroughKeywordSets = new KeywordSet[regexLexer.nPatterns];
+    }
+
+    @Benchmark
+    public TokenStream highlightTrie() {
+        TokenStream out = new TokenStream();
+        lexer.decorate(source, out);
+        return out;
+    }
+
+    @Benchmark
+    public TokenStream highlightRegex() {
+        TokenStream out = new TokenStream();
+        regexLexer.decorate(source, out);
+        return out;
+    }
+
+    @Benchmark
+    public void matchTrie(Blackhole blackhole) {
+        for (String token : tokens) {
+            blackhole.consume(keywordSet.match(token));
+        }
+    }
+
+    @Benchmark
+    public void matchRegex(Blackhole blackhole) {
+        for (String token : tokens) {
+            blackhole.consume(Util.match(keywordPattern, token, false));
+        }
+    }
+}
@@ -19,6 +19,7 @@ import android.content.Context;
 import android.support.annotation.ColorInt;
 import android.support.annotation.NonNull;
 
+import com.yydcdut.markdown.callback.OnCodeHighlightFallbackCallback;
 import com.yydcdut.markdown.callback.OnLinkClickCallback;
 import com.yydcdut.markdown.callback.OnTodoClickCallback;
 import com.yydcdut.markdown.config.BlockQuote;
@@ -34,6 +35,7 @@ import com.yydcdut.markdown.theme.Theme;
 import com.yydcdut.markdown.theme.ThemeDefault;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * The display configuration of RxMarkdown
@@ -194,6 +196,63 @@ public class MarkdownConfiguration {
         return code.bgColor;
     }
 
+    /**
+     * get the count of threads to highlight code blocks
+     *
+     * @return the count, 1 means the code blocks are highlighted one by one
+     */
+    public final int getCodeHighlightThreads() {
+        return code.highlightThreads;
+    }
+
+    /**
+     * get the max length of code block to highlight, the length is multiplied by the weight of language
+     *
+     * @return the length, 0 means no limit
+     */
+    public final int getCodeHighlightMaxLength() {
+        return code.highlightMaxLength;
+    }
+
+    /**
+     * get the max time of highlighting the code blocks of a document, it is the time the rendering thread spends,
+     * see {@link Builder#setCodeHighlightMaxTime(long)}
+     *
+     * @return the time in milliseconds, 0 means no limit
+     */
+    public final long getCodeHighlightMaxTime() {
+        return code.highlightMaxTime;
+    }
+
+    /**
+     * get the count of lines highlighted when the code block is over the budget
+     *
+     * @return the count, 0 means the code block is in plain text color
+     */
+    public final int getCodeHighlightFallbackLines() {
+        return code.highlightFallbackLines;
+    }
+
+    /**
+     * get the cost weight of language for the max length of code block
+     *
+     * @param language the language of code block
+     * @return the weight, 1 if not set
+     */
+    public final float getCodeHighlightLanguageWeight(String language) {
+        Float weight = code.highlightLanguageWeights.get(language.toLowerCase(Locale.US));
+        return weight == null ? 1f : weight;
+    }
+
+    /**
+     * get the callback of code block which isn't fully highlighted
+     *
+     * @return OnCodeHighlightFallbackCallback
+     */
+    public final OnCodeHighlightFallbackCallback getOnCodeHighlightFallbackCallback() {
+        return code.onCodeHighlightFallbackCallback;
+    }
+
     /**
      * get code block theme
      *
@@ -466,6 +525,77 @@ public class MarkdownConfiguration {
             return this;
         }
 
+        /**
+         * set the count of threads to highlight code blocks, the code blocks of a document are highlighted in parallel
+         *
+         * @param threads the count, 1 means highlighting one by one, it's the default
+         * @return self
+         */
+        public Builder setCodeHighlightThreads(int threads) {
+            code.highlightThreads = Math.max(1, threads);
+            return this;
+        }
+
+        /**
+         * set the max length of code block to highlight, the longer code block falls back to {@link #setCodeHighlightFallbackLines(int)}
+         *
+         * @param maxLength the length, 0 means no limit, it's the default
+         * @return self
+         */
+        public Builder setCodeHighlightMaxLength(int maxLength) {
+            code.highlightMaxLength = Math.max(0, maxLength);
+            return this;
+        }
+
+        /**
+         * set the max time of highlighting the code blocks of a document, the code blocks after it is over fall back to {@link #setCodeHighlightFallbackLines(int)}
+         * <p>
+         * It is the time the rendering thread spends. With {@link #setCodeHighlightThreads(int)} the code blocks are parsed
+         * in the threads at the same time, only the time the rendering thread waits for them is counted, so the threads
+         * may spend more CPU time than it in total. The parsing of a code block over the time is interrupted.
+         *
+         * @param maxTime the time in milliseconds, 0 means no limit, it's the default
+         * @return self
+         */
+        public Builder setCodeHighlightMaxTime(long maxTime) {
+            code.highlightMaxTime = Math.max(0, maxTime);
+            return this;
+        }
+
+        /**
+         * set the count of lines highlighted when the code block is over the budget, the other lines are in plain text color
+         *
+         * @param lines the count, 0 means the code block is in plain text color, it's the default
+         * @return self
+         */
+        public Builder setCodeHighlightFallbackLines(int lines) {
+            code.highlightFallbackLines = Math.max(0, lines);
+            return this;
+        }
+
+        /**
+         * set the cost weight of language, the length of code block is multiplied by it for the max length
+         *
+         * @param language the language of code block, such as "java"
+         * @param weight   the weight, the default is 1
+         * @return self
+         */
+        public Builder setCodeHighlightLanguageWeight(@NonNull String language, float weight) {
+            code.highlightLanguageWeights.put(language.toLowerCase(Locale.US), weight);
+            return this;
+        }
+
+        /**
+         * set the callback of code block which isn't fully highlighted
+         *
+         * @param onCodeHighlightFallbackCallback OnCodeHighlightFallbackCallback, invoked when the code block is over the budget
+         * @return self
+         */
+        public Builder setOnCodeHighlightFallbackCallback(OnCodeHighlightFallbackCallback onCodeHighlightFallbackCallback) {
+            code.onCodeHighlightFallbackCallback = onCodeHighlightFallbackCallback;
+            return this;
+        }
+
         /**
          * set code theme
          *
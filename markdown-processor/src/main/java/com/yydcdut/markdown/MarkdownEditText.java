@@ -16,25 +16,41 @@
 package com.yydcdut.markdown;
 
 import android.content.Context;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
-import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.text.Editable;
+import android.text.Layout;
+import android.text.SpannableStringBuilder;
 import android.text.Spanned;
 import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.util.AttributeSet;
+import android.util.Pair;
 import android.widget.EditText;
 
+import com.yydcdut.markdown.callback.OnFormatProgressCallback;
+import com.yydcdut.markdown.live.EditToken;
 import com.yydcdut.markdown.live.LivePrepare;
+import com.yydcdut.markdown.live.SpanIndex;
+import com.yydcdut.markdown.span.MDCodeBlockSpan;
 import com.yydcdut.markdown.span.MDImageSpan;
+import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxFactory;
+import com.yydcdut.markdown.syntax.edit.CodeBlockScanner;
+import com.yydcdut.markdown.syntax.edit.EditFactory;
 import com.yydcdut.markdown.syntax.text.TextFactory;
+import com.yydcdut.markdown.utils.SyntaxUtils;
+import com.yydcdut.markdown.utils.TextHelper;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * RxMDEditText, live preview.
@@ -50,12 +66,23 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     private static final int MSG_INIT_FORMAT = 4;
     private static final int MSG_FORMAT_BEFORE_TEXT_CHANGED = 5;
     private static final int MSG_FORMAT_ON_TEXT_CHANGED = 6;
+    private static final int MSG_INIT_FORMAT_IN_PLACE = 7;
+    private static final int MSG_ASYNC_FORMAT = 8;
+    private static final int MSG_DISPATCH_TEXT_CHANGE = 9;
+    private static final int MSG_VIEWPORT_FORMAT = 10;
+    private static final int MSG_VIEWPORT_IDLE_FORMAT = 11;
+    private static final int MSG_CHUNK_FORMAT = 12;
+    private static final int MSG_ASYNC_SNAPSHOT = 13;
+
+    private static final int DEFAULT_VIEWPORT_MARGIN = 20;
+    private static final int VIEWPORT_IDLE_DELAY = 300;
+    private static final int VIEWPORT_IDLE_LENGTH = 8 * 1024;
+    private static final int BULK_CHANGE_LENGTH = 8 * 1024;
+    private static final int FORMAT_CHUNK_LENGTH = 4 * 1024;
     private Handler mHandler;
 
-    private static final String BUNDLE_CHAR_SEQUENCE = "bundle_char_sequence";
-    private static final String BUNDLE_START = "bundle_start";
-    private static final String BUNDLE_BEFORE = "bundle_before";
-    private static final String BUNDLE_AFTER = "bundle_after";
+    private final TextChangeQueue mTextChangeQueue = new TextChangeQueue(MSG_BEFORE_TEXT_CHANGED, MSG_AFTER_TEXT_CHANGED);
+    private final TextChangeQueue.Event mDispatchingEvent = new TextChangeQueue.Event();
 
     private SyntaxFactory mGrammarFactory;
     private MarkdownConfiguration mMarkdownConfiguration;
@@ -67,6 +94,33 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     private boolean mInitFormat;
 
     private LivePrepare mLivePrepare;
+    private SpanIndex mSpanIndex;
+
+    private boolean mViewportStyling;
+    private int mViewportMargin = DEFAULT_VIEWPORT_MARGIN;
+    private boolean mViewportCodeBlockStyled;
+    private CodeBlockScanner mCodeBlockScanner;
+    private final TextRanges mStyledRanges = new TextRanges();
+    private final Rect mVisibleRect = new Rect();
+    private final int[] mUnstyledRange = new int[2];
+
+    private final TextRanges mPendingRanges = new TextRanges();
+    private int mPendingTotal;
+    private OnFormatProgressCallback mOnFormatProgressCallback;
+    /**
+     * the tokens of the first format from non-main thread, they are applied by {@link #MSG_INIT_FORMAT_IN_PLACE}
+     */
+    private List<EditToken> mInitFormatTokens;
+
+    private boolean mAsyncStyling;
+    private boolean mAsyncFormatAll;
+    private volatile int mVersion;
+    private ExecutorService mExecutorService;
+    /**
+     * the factory of the background thread, the factory set by {@link #setFactoryAndConfig(SyntaxFactory, MarkdownConfiguration)}
+     * is used in main thread, {@link EditFactory} isn't thread safe
+     */
+    private EditFactory mAsyncEditFactory;
 
     /**
      * Constructor
@@ -104,7 +158,9 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     private void init() {
         mEditTextWatcher = new EditTextWatcher();
         mHandler = new Handler(this);
-        mLivePrepare = new LivePrepare(this, mEditTextWatcher);
+        mSpanIndex = new SpanIndex();
+        mSpanIndex.attach(getText());
+        mLivePrepare = new LivePrepare(this, mEditTextWatcher, mSpanIndex);
     }
 
     /**
@@ -131,6 +187,8 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
 
         public void doOnTextChanged(CharSequence s, int start, int before, int after) {
             if (isMainThread()) {
+                //the controllers edit the text while the watcher is removed, the ranges are moved here
+                onTextChanged4Ranges(start, before, after);
                 sendOnTextChanged(s, start, before, after);
             } else {
                 sendMessage(MSG_ON_TEXT_CHANGED, s, start, before, after);
@@ -181,15 +239,47 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
 
         @Override
         public void afterTextChanged(final Editable s) {
-            if (mInitFormat) {
-                CharSequence charSequence = format();
+            if (isAsyncStyling()) {
+                if (mInitFormat) {
+                    mAsyncFormatAll = true;
+                    mInitFormat = false;
+                }
                 if (isMainThread()) {
-                    setEditableText(charSequence);
+                    formatAsync();
+                } else {
+                    mHandler.sendEmptyMessage(MSG_ASYNC_SNAPSHOT);
+                }
+            } else if (mInitFormat && isViewportStyling()) {
+                mStyledRanges.clear();
+                resetViewportCodeBlock();
+                mHandler.sendEmptyMessage(MSG_VIEWPORT_FORMAT);
+                mInitFormat = false;
+            } else if (mInitFormat) {
+                mPendingRanges.clear();
+                mPendingTotal = 0;
+                if (mGrammarFactory instanceof EditFactory) {
+                    List<EditToken> list = ((EditFactory) mGrammarFactory).getEditTokens(getText(), mMarkdownConfiguration);
+                    if (isMainThread()) {
+                        EditFactory.applyEditTokens(getText(), list);
+                    } else {
+                        mInitFormatTokens = list;
+                        mHandler.sendEmptyMessage(MSG_INIT_FORMAT_IN_PLACE);
+                    }
                 } else {
-                    sendMessage(MSG_INIT_FORMAT, charSequence, 0, 0, 0);
+                    CharSequence charSequence = format();
+                    if (isMainThread()) {
+                        setEditableText(charSequence);
+                    } else {
+                        sendMessage(MSG_INIT_FORMAT, charSequence, 0, 0, 0);
+                    }
                 }
                 mInitFormat = false;
             }
+            if (isViewportStyling()) {
+                //the user is typing, style the rest later
+                mHandler.removeMessages(MSG_VIEWPORT_IDLE_FORMAT);
+                mHandler.sendEmptyMessageDelayed(MSG_VIEWPORT_IDLE_FORMAT, VIEWPORT_IDLE_DELAY);
+            }
             if (isMainThread()) {
                 sendAfterTextChanged(getText());
             } else {
@@ -235,6 +325,9 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     }
 
     private void beforeTextChanged4Controller(CharSequence s, int start, int before, int after) {
+        if (isBulkChange(after)) {
+            return;
+        }
         mLivePrepare.beforeTextChanged(s, start, before, after);
     }
 
@@ -249,9 +342,53 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     }
 
     private void onTextChanged4Controller(CharSequence s, int start, int before, int after) {
+        if (isViewportStyling() && isBulkChange(after)) {
+            //a long text is set or pasted, style it from the visible lines as the first format
+            if (!mPendingRanges.isEmpty()) {
+                mPendingRanges.onTextChanged(start, before, after);
+            }
+            mStyledRanges.clear();
+            resetViewportCodeBlock();
+            if (!mHandler.hasMessages(MSG_VIEWPORT_FORMAT)) {
+                mHandler.sendEmptyMessage(MSG_VIEWPORT_FORMAT);
+            }
+            return;
+        }
+        onTextChanged4Ranges(start, before, after);
+        if (!isViewportStyling() && isBulkChange(after)) {
+            //a long text is pasted, format it piece by piece in the following frames
+            mPendingRanges.add(start, start + after);
+            mPendingTotal += after;
+            if (!mHandler.hasMessages(MSG_CHUNK_FORMAT)) {
+                mHandler.sendEmptyMessage(MSG_CHUNK_FORMAT);
+            }
+            return;
+        }
         mLivePrepare.onTextChanged(s, start, before, after);
     }
 
+    /**
+     * move the styled and pending ranges with the change
+     */
+    private void onTextChanged4Ranges(int start, int before, int after) {
+        if (!mPendingRanges.isEmpty()) {
+            mPendingRanges.onTextChanged(start, before, after);
+        }
+        if (isViewportStyling()) {
+            mStyledRanges.onTextChanged(start, before, after);
+            if (!mViewportCodeBlockStyled && mCodeBlockScanner != null) {
+                mCodeBlockScanner.onTextChanged(start, before, after);
+            }
+        }
+    }
+
+    /**
+     * whether the change is too long to be formatted by the controllers at once
+     */
+    private boolean isBulkChange(int after) {
+        return after > BULK_CHANGE_LENGTH && !mAsyncStyling && mGrammarFactory instanceof EditFactory && mMarkdownConfiguration != null;
+    }
+
     private void sendAfterTextChanged(Editable s) {
         if (mListeners != null) {
             final ArrayList<TextWatcher> list = mListeners;
@@ -266,6 +403,7 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
                                     @NonNull MarkdownConfiguration markdownConfiguration) {
         mGrammarFactory = syntaxFactory;
         mMarkdownConfiguration = markdownConfiguration;
+        mCodeBlockScanner = null;
         mLivePrepare.config(markdownConfiguration);
         super.addTextChangedListener(mEditTextWatcher);
         Editable editable = getText();
@@ -277,6 +415,260 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
         }
     }
 
+    /**
+     * style the text in background thread or not, it works with {@link EditFactory} only.
+     * When it is true, on each change the dirty paragraphs are copied with a version and parsed in background thread,
+     * the spans are applied to these paragraphs in main thread if no change happens after the copy,
+     * otherwise they are dropped and the paragraphs are still dirty for the next change.
+     * The whole text is copied only for the first format and when code block key is added or removed.
+     * The controllers editing the text, such as list, still work in main thread.
+     *
+     * @param asyncStyling true if styling in background thread
+     */
+    public void setAsyncStyling(boolean asyncStyling) {
+        mAsyncStyling = asyncStyling;
+        mLivePrepare.setStyling(!asyncStyling);
+    }
+
+    /**
+     * style the visible paragraphs only, it works with {@link EditFactory} only and doesn't work with async styling.
+     * When it is true, the paragraphs in the visible lines and the margin lines are styled when the text is set or scrolled,
+     * the others are styled piece by piece when the user is idle, so a long text is shown without styling all of it.
+     *
+     * @param viewportStyling true if styling the visible paragraphs only
+     * @param margin          the number of lines styled above and below the visible lines
+     */
+    public void setViewportStyling(boolean viewportStyling, int margin) {
+        mViewportStyling = viewportStyling;
+        mViewportMargin = Math.max(margin, 0);
+        if (!viewportStyling) {
+            mHandler.removeMessages(MSG_VIEWPORT_FORMAT);
+            mHandler.removeMessages(MSG_VIEWPORT_IDLE_FORMAT);
+        }
+    }
+
+    private boolean isViewportStyling() {
+        return mViewportStyling && !mAsyncStyling && mGrammarFactory instanceof EditFactory && mMarkdownConfiguration != null;
+    }
+
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        if (mHandler != null && isViewportStyling() && !mHandler.hasMessages(MSG_VIEWPORT_FORMAT)) {
+            mHandler.sendEmptyMessage(MSG_VIEWPORT_FORMAT);
+        }
+    }
+
+    /**
+     * style the paragraphs in the visible lines and the margin lines which aren't styled
+     */
+    private void formatViewport() {
+        Editable editable = getText();
+        Layout layout = getLayout();
+        int start;
+        int end;
+        if (layout == null || layout.getLineCount() == 0 || !getLocalVisibleRect(mVisibleRect)) {
+            //not laid out yet, the beginning is visible
+            start = 0;
+            end = Math.min(editable.length(), VIEWPORT_IDLE_LENGTH);
+        } else {
+            int firstLine = layout.getLineForVertical(mVisibleRect.top - getTotalPaddingTop());
+            int lastLine = layout.getLineForVertical(mVisibleRect.bottom - getTotalPaddingTop());
+            start = layout.getLineStart(Math.max(firstLine - mViewportMargin, 0));
+            end = layout.getLineEnd(Math.min(lastLine + mViewportMargin, layout.getLineCount() - 1));
+        }
+        while (mStyledRanges.findUncovered(start, end, mUnstyledRange)) {
+            mStyledRanges.add(mUnstyledRange[0], formatRange(editable, mUnstyledRange[0], mUnstyledRange[1]));
+        }
+        mHandler.removeMessages(MSG_VIEWPORT_IDLE_FORMAT);
+        mHandler.sendEmptyMessageDelayed(MSG_VIEWPORT_IDLE_FORMAT, VIEWPORT_IDLE_DELAY);
+    }
+
+    /**
+     * the code blocks are styled piece by piece from the beginning when the user is idle
+     */
+    private void resetViewportCodeBlock() {
+        mViewportCodeBlockStyled = false;
+        if (mCodeBlockScanner == null) {
+            mCodeBlockScanner = new CodeBlockScanner(mMarkdownConfiguration);
+        }
+        mCodeBlockScanner.reset();
+    }
+
+    /**
+     * style one piece of the text which isn't styled, the code blocks are scanned and styled piece by piece first
+     */
+    private void formatViewportIdle() {
+        Editable editable = getText();
+        if (mCodeBlockScanner == null) {
+            resetViewportCodeBlock();
+        }
+        if (!mViewportCodeBlockStyled) {
+            mViewportCodeBlockStyled = !mCodeBlockScanner.format(editable, VIEWPORT_IDLE_LENGTH);
+        } else if (mStyledRanges.findUncovered(0, editable.length(), mUnstyledRange)) {
+            int end = Math.min(mUnstyledRange[1], mUnstyledRange[0] + VIEWPORT_IDLE_LENGTH);
+            mStyledRanges.add(mUnstyledRange[0], formatRange(editable, mUnstyledRange[0], end));
+        } else {
+            return;
+        }
+        mHandler.sendEmptyMessageDelayed(MSG_VIEWPORT_IDLE_FORMAT, VIEWPORT_IDLE_DELAY);
+    }
+
+    /**
+     * format one piece of the pasted text, the code blocks are formatted after the last piece
+     */
+    private void formatChunk() {
+        Editable editable = getText();
+        if (!mPendingRanges.getFirst(mUnstyledRange)) {
+            return;
+        }
+        int end = Math.min(mUnstyledRange[1], mUnstyledRange[0] + FORMAT_CHUNK_LENGTH);
+        mPendingRanges.remove(mUnstyledRange[0], formatRange(editable, mUnstyledRange[0], end));
+        if (mPendingRanges.isEmpty()) {
+            formatCodeBlock(editable);
+        } else {
+            mHandler.sendEmptyMessage(MSG_CHUNK_FORMAT);
+        }
+        if (mOnFormatProgressCallback != null) {
+            int total = mPendingTotal;
+            mOnFormatProgressCallback.onFormatProgress(Math.max(total - mPendingRanges.getLength(), 0), total);
+        }
+        if (mPendingRanges.isEmpty()) {
+            mPendingTotal = 0;
+        }
+    }
+
+    /**
+     * set the callback of formatting a large pasted text piece by piece
+     *
+     * @param onFormatProgressCallback the callback
+     */
+    public void setOnFormatProgressCallback(@Nullable OnFormatProgressCallback onFormatProgressCallback) {
+        mOnFormatProgressCallback = onFormatProgressCallback;
+    }
+
+    /**
+     * format the lines between start and end
+     *
+     * @return the end of the last line formatted
+     */
+    private int formatRange(Editable editable, int start, int end) {
+        //the lexer parses whole lines
+        int lineStart = TextHelper.findBeforeNewLineChar(editable, start) + 1;
+        int lineEnd = TextHelper.findNextNewLineCharCompat(editable, Math.max(end - 1, lineStart));
+        List<EditToken> list = ((EditFactory) mGrammarFactory).getEditTokens(editable, mMarkdownConfiguration, lineStart, lineEnd);
+        EditFactory.applyEditTokens(editable, list, lineStart, lineEnd);
+        return Math.max(lineEnd, end);
+    }
+
+    /**
+     * code blocks depend on the whole text
+     */
+    private void formatCodeBlock(Editable editable) {
+        Syntax codeBlockSyntax = mGrammarFactory.getCodeBlockSyntax(mMarkdownConfiguration);
+        SyntaxUtils.removeSpans(editable, 0, editable.length(), MDCodeBlockSpan.class);
+        SyntaxUtils.setCodeSpan(editable, codeBlockSyntax.format(editable));
+    }
+
+    private boolean isAsyncStyling() {
+        return mAsyncStyling && mGrammarFactory instanceof EditFactory && mMarkdownConfiguration != null;
+    }
+
+    /**
+     * copy the dirty paragraphs and parse them in background thread, the whole text is copied for the first format,
+     * the code blocks depend on the whole text, it is copied too when code block key is added or removed
+     */
+    private void formatAsync() {
+        final int version = ++mVersion;
+        final Editable editable = getText();
+        final MarkdownConfiguration markdownConfiguration = mMarkdownConfiguration;
+        final AsyncFormat asyncFormat;
+        if (mAsyncFormatAll || mLivePrepare.isAllDirty()) {
+            asyncFormat = new AsyncFormat(1, true);
+            asyncFormat.wholeText = editable.toString();
+        } else {
+            List<Pair<Integer, Integer>> rangeList = mLivePrepare.getDirtyRanges(editable);
+            if (rangeList.isEmpty() && !mLivePrepare.isFenceDirty()) {
+                return;
+            }
+            asyncFormat = new AsyncFormat(rangeList.size(), false);
+            for (int i = 0; i < rangeList.size(); i++) {
+                Pair<Integer, Integer> range = rangeList.get(i);
+                asyncFormat.starts[i] = range.first;
+                asyncFormat.ends[i] = range.second;
+                asyncFormat.texts[i] = TextUtils.substring(editable, range.first, range.second);
+            }
+            if (mLivePrepare.isFenceDirty()) {
+                asyncFormat.wholeText = editable.toString();
+            }
+        }
+        if (mExecutorService == null) {
+            mExecutorService = Executors.newSingleThreadExecutor();
+            mAsyncEditFactory = (EditFactory) EditFactory.create();
+        }
+        final EditFactory editFactory = mAsyncEditFactory;
+        mExecutorService.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (version != mVersion) {
+                    return;
+                }
+                if (asyncFormat.all) {
+                    asyncFormat.tokens.add(editFactory.getEditTokens(new SpannableStringBuilder(asyncFormat.wholeText), markdownConfiguration));
+                } else {
+                    for (int i = 0; i < asyncFormat.texts.length && version == mVersion; i++) {
+                        String text = asyncFormat.texts[i];
+                        List<EditToken> list = editFactory.getEditTokens(new SpannableStringBuilder(text), markdownConfiguration, 0, text.length());
+                        asyncFormat.tokens.add(offset(list, asyncFormat.starts[i]));
+                    }
+                    if (asyncFormat.wholeText != null) {
+                        asyncFormat.codeBlockTokens = editFactory.getCodeBlockSyntax(markdownConfiguration)
+                                .format(new SpannableStringBuilder(asyncFormat.wholeText));
+                    }
+                }
+                if (version != mVersion) {
+                    return;
+                }
+                mHandler.sendMessage(mHandler.obtainMessage(MSG_ASYNC_FORMAT, version, 0, asyncFormat));
+            }
+        });
+    }
+
+    /**
+     * move the {@link EditToken}s of a paragraph copy to the positions in the text
+     */
+    private static List<EditToken> offset(List<EditToken> list, int offset) {
+        if (offset == 0) {
+            return list;
+        }
+        List<EditToken> offsetList = new ArrayList<>(list.size());
+        for (EditToken editToken : list) {
+            offsetList.add(new EditToken(editToken.getSpan(), editToken.getStart() + offset, editToken.getEnd() + offset, editToken.getFlag()));
+        }
+        return offsetList;
+    }
+
+    /**
+     * apply the {@link EditToken}s parsed in background thread, the text hasn't been changed after the copy
+     */
+    private void applyAsyncFormat(AsyncFormat asyncFormat) {
+        Editable editable = getText();
+        if (asyncFormat.all) {
+            EditFactory.applyEditTokens(editable, asyncFormat.tokens.get(0));
+            mAsyncFormatAll = false;
+            mLivePrepare.resetDirty(editable);
+            return;
+        }
+        for (int i = 0; i < asyncFormat.tokens.size(); i++) {
+            EditFactory.applyEditTokens(editable, asyncFormat.tokens.get(i), asyncFormat.starts[i], asyncFormat.ends[i]);
+        }
+        if (asyncFormat.codeBlockTokens != null) {
+            SyntaxUtils.removeSpans(editable, 0, editable.length(), MDCodeBlockSpan.class);
+            SyntaxUtils.setCodeSpan(editable, asyncFormat.codeBlockTokens);
+        }
+        mLivePrepare.cleanDirty();
+    }
+
     private CharSequence format() {
         if (mGrammarFactory == null) {
             return getText();
@@ -303,68 +695,86 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     @Override
     public boolean handleMessage(Message msg) {
         switch (msg.what) {
+            case MSG_DISPATCH_TEXT_CHANGE:
+                while (mTextChangeQueue.poll(mDispatchingEvent)) {
+                    dispatchTextChange(mDispatchingEvent);
+                }
+                mDispatchingEvent.s = null;
+                break;
+            case MSG_INIT_FORMAT_IN_PLACE:
+                if (mInitFormatTokens != null) {
+                    EditFactory.applyEditTokens(getText(), mInitFormatTokens);
+                    mInitFormatTokens = null;
+                }
+                break;
+            case MSG_VIEWPORT_FORMAT:
+                if (isViewportStyling()) {
+                    formatViewport();
+                }
+                break;
+            case MSG_VIEWPORT_IDLE_FORMAT:
+                if (isViewportStyling()) {
+                    formatViewportIdle();
+                }
+                break;
+            case MSG_CHUNK_FORMAT:
+                if (mGrammarFactory instanceof EditFactory && mMarkdownConfiguration != null) {
+                    formatChunk();
+                }
+                break;
+            case MSG_ASYNC_FORMAT:
+                //the text has been changed after the copy, drop it, the paragraphs are still dirty
+                if (msg.arg1 == mVersion) {
+                    applyAsyncFormat((AsyncFormat) msg.obj);
+                }
+                break;
+            case MSG_ASYNC_SNAPSHOT:
+                if (isAsyncStyling()) {
+                    formatAsync();
+                }
+                break;
+            default:
+                break;
+        }
+        return false;
+    }
+
+    private void dispatchTextChange(TextChangeQueue.Event event) {
+        switch (event.what) {
             case MSG_BEFORE_TEXT_CHANGED:
-                Bundle bundle0 = msg.getData();
-                CharSequence s0 = bundle0.getCharSequence(BUNDLE_CHAR_SEQUENCE);
-                int start0 = bundle0.getInt(BUNDLE_START);
-                int before0 = bundle0.getInt(BUNDLE_BEFORE);
-                int after0 = bundle0.getInt(BUNDLE_AFTER);
-                sendBeforeTextChanged(s0, start0, before0, after0);
+                sendBeforeTextChanged(event.s, event.start, event.before, event.after);
                 break;
             case MSG_ON_TEXT_CHANGED:
-                Bundle bundle1 = msg.getData();
-                CharSequence s1 = bundle1.getCharSequence(BUNDLE_CHAR_SEQUENCE);
-                int start1 = bundle1.getInt(BUNDLE_START);
-                int before1 = bundle1.getInt(BUNDLE_BEFORE);
-                int after1 = bundle1.getInt(BUNDLE_AFTER);
-                sendOnTextChanged(s1, start1, before1, after1);
+                sendOnTextChanged(event.s, event.start, event.before, event.after);
                 break;
             case MSG_AFTER_TEXT_CHANGED:
-                Bundle bundle2 = msg.getData();
-                CharSequence s2 = bundle2.getCharSequence(BUNDLE_CHAR_SEQUENCE);
-                if (s2 instanceof Editable) {
-                    sendAfterTextChanged((Editable) s2);
+                if (event.s instanceof Editable) {
+                    sendAfterTextChanged((Editable) event.s);
                 } else {
                     sendAfterTextChanged(getText());
                 }
                 break;
             case MSG_INIT_FORMAT:
-                Bundle bundle3 = msg.getData();
-                CharSequence s3 = bundle3.getCharSequence(BUNDLE_CHAR_SEQUENCE);
-                setEditableText(s3);
+                setEditableText(event.s);
                 break;
             case MSG_FORMAT_BEFORE_TEXT_CHANGED:
-                Bundle bundle4 = msg.getData();
-                CharSequence s4 = bundle4.getCharSequence(BUNDLE_CHAR_SEQUENCE);
-                int start4 = bundle4.getInt(BUNDLE_START);
-                int before4 = bundle4.getInt(BUNDLE_BEFORE);
-                int after4 = bundle4.getInt(BUNDLE_AFTER);
-                beforeTextChanged4Controller(s4, start4, before4, after4);
+                beforeTextChanged4Controller(event.s, event.start, event.before, event.after);
                 break;
             case MSG_FORMAT_ON_TEXT_CHANGED:
-                Bundle bundle5 = msg.getData();
-                CharSequence s5 = bundle5.getCharSequence(BUNDLE_CHAR_SEQUENCE);
-                int start5 = bundle5.getInt(BUNDLE_START);
-                int before5 = bundle5.getInt(BUNDLE_BEFORE);
-                int after5 = bundle5.getInt(BUNDLE_AFTER);
-                onTextChanged4Controller(s5, start5, before5, after5);
+                onTextChanged4Controller(event.s, event.start, event.before, event.after);
                 break;
             default:
                 break;
         }
-        return false;
     }
 
+    /**
+     * queue the text change event from non-main thread, the consecutive edits are merged into one
+     */
     private void sendMessage(int what, CharSequence s, int start, int before, int after) {
-        Message message = mHandler.obtainMessage();
-        Bundle bundle = new Bundle();
-        bundle.putCharSequence(BUNDLE_CHAR_SEQUENCE, s);
-        bundle.putInt(BUNDLE_START, start);
-        bundle.putInt(BUNDLE_BEFORE, before);
-        bundle.putInt(BUNDLE_AFTER, after);
-        message.what = what;
-        message.setData(bundle);
-        mHandler.sendMessage(message);
+        if (mTextChangeQueue.offer(what, s, start, before, after, what != MSG_INIT_FORMAT)) {
+            mHandler.sendEmptyMessage(MSG_DISPATCH_TEXT_CHANGE);
+        }
     }
 
     @Override
@@ -391,6 +801,10 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
             }
         }
         super.setText(text, type);
+        if (mSpanIndex != null) {
+            //the editable is created again when setting text
+            mSpanIndex.attach(getText());
+        }
     }
 
     @Override
@@ -410,6 +824,12 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         onDetach();
+        if (mExecutorService != null) {
+            mVersion++;
+            mExecutorService.shutdown();
+            mExecutorService = null;
+            mAsyncEditFactory = null;
+        }
     }
 
     @Override
@@ -442,8 +862,32 @@ public class MarkdownEditText extends EditText implements Handler.Callback {
 
     private MDImageSpan[] getImages() {
         if (mGrammarFactory instanceof TextFactory && mHasImageInText && length() > 0) {
-            return (getText()).getSpans(0, length(), MDImageSpan.class);
+            return mSpanIndex.getSpans(getText(), 0, length(), MDImageSpan.class);
         }
         return new MDImageSpan[0];
     }
+
+    /**
+     * the copies of dirty paragraphs parsed in background thread and the {@link EditToken}s of them
+     */
+    private static class AsyncFormat {
+        final boolean all;
+        final int[] starts;
+        final int[] ends;
+        final String[] texts;
+        final List<List<EditToken>> tokens;
+        /**
+         * the whole text for code blocks, null if code blocks aren't parsed
+         */
+        String wholeText;
+        List<EditToken> codeBlockTokens;
+
+        AsyncFormat(int count, boolean all) {
+            this.all = all;
+            starts = new int[count];
+            ends = new int[count];
+            texts = new String[count];
+            tokens = new ArrayList<>(count);
+        }
+    }
 }
@@ -18,7 +18,12 @@ package com.yydcdut.markdown;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
+import com.yydcdut.markdown.span.MDOutlineSpan;
+import com.yydcdut.markdown.syntax.Outline;
 import com.yydcdut.markdown.syntax.SyntaxFactory;
+import com.yydcdut.markdown.syntax.text.TextFactory;
+
+import java.util.List;
 
 /**
  * Created by yuyidong on 2018/5/6.
@@ -47,6 +52,18 @@ public class MarkdownProcessor {
         return syntaxFactory.parse(charSequence, config);
     }
 
+    /**
+     * get the outline of headers of the parsed content, it is built by {@link TextFactory} while parsing
+     * and goes with the content in a {@link MDOutlineSpan}
+     *
+     * @param charSequence the content returned by {@link #parse(CharSequence)}
+     * @return the outline list, empty if the content isn't parsed by {@link TextFactory}
+     */
+    @NonNull
+    public static List<Outline> getOutline(@NonNull CharSequence charSequence) {
+        return MDOutlineSpan.getOutline(charSequence);
+    }
+
     public void live(MarkdownEditText editText) {
         editText.setFactoryAndConfig(syntaxFactory, getMarkdownConfiguration());
     }
@@ -22,6 +22,7 @@ import android.util.AttributeSet;
 import android.widget.TextView;
 
 import com.yydcdut.markdown.span.MDImageSpan;
+import com.yydcdut.markdown.span.MDTableSpan;
 
 /**
  * RxMDTextView cooperate with com.yydcdut.rxmarkdown.grammar.android.ImageGrammar.
@@ -31,6 +32,7 @@ import com.yydcdut.markdown.span.MDImageSpan;
 public class MarkdownTextView extends TextView {
 
     private boolean mHasImageInText;
+    private boolean mHasTableInText;
 
     /**
      * Constructor
@@ -74,10 +76,31 @@ public class MarkdownTextView extends TextView {
             for (MDImageSpan image : spans) {
                 image.onAttach(this);
             }
+            mHasTableInText = ((Spanned) text).getSpans(0, text.length(), MDTableSpan.class).length > 0;
+        } else {
+            mHasTableInText = false;
         }
         super.setText(text, type);
     }
 
+    /**
+     * the tables are fitted to the width of text before the text is laid out,
+     * the layout is made again by {@link TextView} when the width changes, so the tables are measured again too
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mHasTableInText && MeasureSpec.getMode(widthMeasureSpec) != MeasureSpec.UNSPECIFIED) {
+            int width = MeasureSpec.getSize(widthMeasureSpec) - getCompoundPaddingLeft() - getCompoundPaddingRight();
+            CharSequence text = getText();
+            if (text instanceof Spanned) {
+                for (MDTableSpan table : ((Spanned) text).getSpans(0, text.length(), MDTableSpan.class)) {
+                    table.setMaxWidth(width);
+                }
+            }
+        }
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
 
     @Override
     protected void onDetachedFromWindow() {
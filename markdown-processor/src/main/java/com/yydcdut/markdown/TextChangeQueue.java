@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The queue of text change events from non-main thread, they are dispatched in main thread.
+ * <p>
+ * The events are pooled in a ring buffer, no object is allocated for an event.
+ * The consecutive edits of the same text are coalesced, the event of the same type is merged into one delta,
+ * so a burst of edits is dispatched as one before/on/after change.
+ * A burst isn't merged into once any of its events is taken, and its events aren't taken while an edit is being merged
+ * into it, so the events of an edit are merged all or none.
+ */
+class TextChangeQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int mBeginWhat;
+    private final int mEndWhat;
+    private Event[] mEvents;
+    private int mHead;
+    private int mSize;
+    /**
+     * the offset(relative to head) of the first event of last edit, -1 if it has been dispatched
+     */
+    private int mEditStart = -1;
+    /**
+     * whether the current edit is merged into last edit, the events aren't taken until the edit ends
+     */
+    private boolean mMerging;
+    /**
+     * whether {@link #poll(Event)} has returned false for the merging edit, the dispatching should be scheduled again
+     */
+    private boolean mStalled;
+
+    /**
+     * Constructor
+     *
+     * @param beginWhat the type of event which begins an edit, such as before text changed
+     * @param endWhat   the type of event which ends an edit, such as after text changed
+     */
+    TextChangeQueue(int beginWhat, int endWhat) {
+        mBeginWhat = beginWhat;
+        mEndWhat = endWhat;
+        mEvents = new Event[DEFAULT_CAPACITY];
+        for (int i = 0; i < DEFAULT_CAPACITY; i++) {
+            mEvents[i] = new Event();
+        }
+    }
+
+    /**
+     * add the event to queue.
+     * If all events of last edit are pending and the edits are adjacent, the events of this edit are merged into them.
+     *
+     * @param what     the type of event
+     * @param s        the text
+     * @param start    the start position of changing
+     * @param before   the length of text replaced
+     * @param after    the length of new text
+     * @param coalesce whether it can be merged with other events
+     * @return true if the queue was empty or the events were held for the merging, the dispatching should be scheduled
+     */
+    synchronized boolean offer(int what, CharSequence s, int start, int before, int after, boolean coalesce) {
+        final boolean wasEmpty = mSize == 0;
+        if (!add(what, s, start, before, after, coalesce)) {
+            if (mSize == mEvents.length) {
+                grow();
+            }
+            get(mSize).set(what, s, start, before, after);
+            mSize++;
+        }
+        if (what == mEndWhat) {
+            mMerging = false;
+        }
+        if (mStalled && !mMerging) {
+            mStalled = false;
+            return true;
+        }
+        return wasEmpty;
+    }
+
+    /**
+     * merge the event into the events of last edit
+     *
+     * @return true if it is merged
+     */
+    private boolean add(int what, CharSequence s, int start, int before, int after, boolean coalesce) {
+        if (!coalesce) {
+            mMerging = false;
+            mEditStart = -1;
+        } else if (what == mBeginWhat) {
+            Event event = mEditStart >= 0 && mEditStart < mSize ? get(mEditStart) : null;
+            mMerging = event != null && event.what == what && event.s == s && event.merge(start, before, after);
+            if (mMerging) {
+                return true;
+            }
+            mEditStart = mSize;
+        } else if (mMerging) {
+            for (int i = mSize - 1; i > mEditStart; i--) {
+                Event event = get(i);
+                if (event.what == what && event.s == s && event.merge(start, before, after)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * take the first event
+     *
+     * @param out the event to copy to
+     * @return false if the queue is empty, or an edit is being merged into the events, {@link #offer} returns true
+     * when the edit ends
+     */
+    synchronized boolean poll(@NonNull Event out) {
+        if (mSize == 0) {
+            return false;
+        }
+        if (mMerging) {
+            mStalled = true;
+            return false;
+        }
+        Event event = mEvents[mHead];
+        out.set(event.what, event.s, event.start, event.before, event.after);
+        event.s = null;
+        mHead = (mHead + 1) % mEvents.length;
+        mSize--;
+        //the edits after it aren't merged into the events dispatched partly
+        mEditStart = -1;
+        return true;
+    }
+
+    private Event get(int offset) {
+        return mEvents[(mHead + offset) % mEvents.length];
+    }
+
+    private void grow() {
+        Event[] events = new Event[mEvents.length * 2];
+        for (int i = 0; i < mSize; i++) {
+            events[i] = get(i);
+        }
+        for (int i = mSize; i < events.length; i++) {
+            events[i] = new Event();
+        }
+        mEvents = events;
+        mHead = 0;
+    }
+
+    static class Event {
+        int what;
+        CharSequence s;
+        int start;
+        int before;
+        int after;
+
+        void set(int what, CharSequence s, int start, int before, int after) {
+            this.what = what;
+            this.s = s;
+            this.start = start;
+            this.before = before;
+            this.after = after;
+        }
+
+        /**
+         * merge the edit following this one, the merged delta replaces the text from the start of both
+         * to the end of both in the text before this edit
+         *
+         * @return false if the edits aren't adjacent
+         */
+        private boolean merge(int nextStart, int nextBefore, int nextAfter) {
+            final int newEnd = start + after;
+            if (nextStart > newEnd || nextStart + nextBefore < start) {
+                return false;
+            }
+            int nextEnd = nextStart + nextBefore;
+            //the end of next edit in the text before this edit
+            int oldNextEnd;
+            if (nextEnd <= start) {
+                oldNextEnd = nextEnd;
+            } else if (nextEnd >= newEnd) {
+                oldNextEnd = nextEnd - after + before;
+            } else {
+                oldNextEnd = start + before;
+            }
+            int mergedStart = Math.min(start, nextStart);
+            int mergedBefore = Math.max(start + before, oldNextEnd) - mergedStart;
+            after = mergedBefore + (after - before) + (nextAfter - nextBefore);
+            before = mergedBefore;
+            start = mergedStart;
+            return true;
+        }
+    }
+}
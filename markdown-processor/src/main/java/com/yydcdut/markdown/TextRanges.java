@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The ranges of text, sorted and not overlapping, such as the ranges styled in viewport mode
+ * or the ranges of pasted text waiting for formatting.
+ * <p>
+ * The ranges move with the text changes, the text changed inside a range is styled by the edit controllers,
+ * so the range is kept.
+ */
+class TextRanges {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] mStarts = new int[DEFAULT_CAPACITY];
+    private int[] mEnds = new int[DEFAULT_CAPACITY];
+    private int mCount;
+
+    void clear() {
+        mCount = 0;
+    }
+
+    boolean isEmpty() {
+        return mCount == 0;
+    }
+
+    /**
+     * the total length of ranges
+     */
+    int getLength() {
+        int length = 0;
+        for (int i = 0; i < mCount; i++) {
+            length += mEnds[i] - mStarts[i];
+        }
+        return length;
+    }
+
+    /**
+     * get the first range
+     *
+     * @param out the range, out[0] is start and out[1] is end
+     * @return false if there is no range
+     */
+    boolean getFirst(@NonNull int[] out) {
+        if (mCount == 0) {
+            return false;
+        }
+        out[0] = mStarts[0];
+        out[1] = mEnds[0];
+        return true;
+    }
+
+    /**
+     * move the ranges with the text change, the new text joins the range it touches,
+     * the ranges deleted totally are removed
+     *
+     * @param start  the start position of changing
+     * @param before the length of text replaced
+     * @param after  the length of new text
+     */
+    void onTextChanged(int start, int before, int after) {
+        final int delta = after - before;
+        final int oldEnd = start + before;
+        int count = 0;
+        for (int i = 0; i < mCount; i++) {
+            int rangeStart = mStarts[i];
+            int rangeEnd = mEnds[i];
+            if (rangeEnd < start) {
+                //before the change
+            } else if (rangeEnd == start) {
+                rangeEnd += after;
+            } else if (rangeStart >= oldEnd) {
+                rangeStart = rangeStart == oldEnd ? start : rangeStart + delta;
+                rangeEnd += delta;
+            } else if (rangeStart >= start && rangeEnd <= oldEnd) {
+                continue;
+            } else {
+                rangeStart = Math.min(rangeStart, start);
+                rangeEnd = rangeEnd >= oldEnd ? rangeEnd + delta : start + after;
+            }
+            mStarts[count] = rangeStart;
+            mEnds[count] = rangeEnd;
+            count++;
+        }
+        mCount = count;
+    }
+
+    /**
+     * add the range, it is merged with the ranges overlapping or adjacent
+     *
+     * @param start the start position
+     * @param end   the end position
+     */
+    void add(int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        //the first range whose end is not before start
+        int first = 0;
+        while (first < mCount && mEnds[first] < start) {
+            first++;
+        }
+        int last = first;
+        while (last < mCount && mStarts[last] <= end) {
+            start = Math.min(start, mStarts[last]);
+            end = Math.max(end, mEnds[last]);
+            last++;
+        }
+        final int newCount = mCount - (last - first) + 1;
+        if (newCount > mStarts.length) {
+            int[] starts = new int[mStarts.length * 2];
+            int[] ends = new int[mEnds.length * 2];
+            System.arraycopy(mStarts, 0, starts, 0, mCount);
+            System.arraycopy(mEnds, 0, ends, 0, mCount);
+            mStarts = starts;
+            mEnds = ends;
+        }
+        System.arraycopy(mStarts, last, mStarts, first + 1, mCount - last);
+        System.arraycopy(mEnds, last, mEnds, first + 1, mCount - last);
+        mStarts[first] = start;
+        mEnds[first] = end;
+        mCount = newCount;
+    }
+
+    /**
+     * remove the range, the ranges overlapping are cut
+     *
+     * @param start the start position
+     * @param end   the end position
+     */
+    void remove(int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        int[] starts = new int[Math.max(mStarts.length, mCount + 1)];
+        int[] ends = new int[starts.length];
+        int count = 0;
+        for (int i = 0; i < mCount; i++) {
+            if (mEnds[i] <= start || mStarts[i] >= end) {
+                starts[count] = mStarts[i];
+                ends[count++] = mEnds[i];
+                continue;
+            }
+            if (mStarts[i] < start) {
+                starts[count] = mStarts[i];
+                ends[count++] = start;
+            }
+            if (mEnds[i] > end) {
+                starts[count] = end;
+                ends[count++] = mEnds[i];
+            }
+        }
+        mStarts = starts;
+        mEnds = ends;
+        mCount = count;
+    }
+
+    /**
+     * find the first part not in ranges between start and end
+     *
+     * @param start the start position
+     * @param end   the end position
+     * @param out   the range found, out[0] is start and out[1] is end
+     * @return false if all is in ranges
+     */
+    boolean findUncovered(int start, int end, @NonNull int[] out) {
+        int position = start;
+        for (int i = 0; i < mCount && position < end; i++) {
+            if (mEnds[i] <= position) {
+                continue;
+            }
+            if (mStarts[i] > position) {
+                out[0] = position;
+                out[1] = Math.min(mStarts[i], end);
+                return true;
+            }
+            position = mEnds[i];
+        }
+        if (position < end) {
+            out[0] = position;
+            out[1] = end;
+            return true;
+        }
+        return false;
+    }
+}
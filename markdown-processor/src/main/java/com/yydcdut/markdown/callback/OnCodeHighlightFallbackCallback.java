@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.callback;
+
+/**
+ * the callback of code block which isn't fully highlighted because of the highlight budget.
+ */
+public interface OnCodeHighlightFallbackCallback {
+    /**
+     * the code block is longer than the max length
+     */
+    int REASON_BLOCK_LENGTH = 1;
+    /**
+     * the time of highlighting the document is over the max time
+     */
+    int REASON_DOCUMENT_TIME = 2;
+
+    /**
+     * the fallback callback, it is invoked in the thread rendering the markdown
+     *
+     * @param language         the language of code block
+     * @param length           the length of code block
+     * @param highlightedLines the count of lines highlighted, the others are in plain text color, 0 if all are
+     * @param reason           {@link #REASON_BLOCK_LENGTH} or {@link #REASON_DOCUMENT_TIME}
+     */
+    void onCodeHighlightFallback(String language, int length, int highlightedLines, int reason);
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.callback;
+
+/**
+ * the callback of formatting a large pasted text piece by piece.
+ */
+public interface OnFormatProgressCallback {
+    /**
+     * the progress callback, it is invoked in main thread after each piece is formatted
+     *
+     * @param formatted the length of text formatted
+     * @param total     the length of text to format, it's done when formatted is equal to total
+     */
+    void onFormatProgress(int formatted, int total);
+}
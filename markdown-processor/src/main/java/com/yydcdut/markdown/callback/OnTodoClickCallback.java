@@ -26,9 +26,11 @@ public interface OnTodoClickCallback {
     /**
      * the click callback
      *
-     * @param view the view
-     * @param line the line text
-     * @return the TextView
+     * @param view       the view
+     * @param line       the line text
+     * @param lineNumber the line number
+     * @return the text of TextView, the _todo span in it is toggled in place.
+     * Return null to toggle the text of the clicked view directly.
      */
     CharSequence onTodoClicked(View view, String line, int lineNumber);
 }
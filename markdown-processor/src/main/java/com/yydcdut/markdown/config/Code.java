@@ -17,10 +17,21 @@ package com.yydcdut.markdown.config;
 
 import android.graphics.Color;
 
+import com.yydcdut.markdown.callback.OnCodeHighlightFallbackCallback;
+
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Created by yuyidong on 2018/4/25.
  */
 public class Code {
     public int color = Color.BLACK;
     public int bgColor = Color.LTGRAY;
+    public int highlightThreads = 1;
+    public int highlightMaxLength = 0;
+    public long highlightMaxTime = 0;
+    public int highlightFallbackLines = 0;
+    public Map<String, Float> highlightLanguageWeights = new HashMap<>();
+    public OnCodeHighlightFallbackCallback onCodeHighlightFallbackCallback;
 }
@@ -15,16 +15,14 @@
  */
 package com.yydcdut.markdown.live;
 
+import android.support.annotation.Nullable;
 import android.text.Editable;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.span.MDQuoteSpan;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
-import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
-
-import java.util.List;
 
 /**
  * RxMDEditText, block quotes controller.
@@ -32,6 +30,20 @@ import java.util.List;
  * Created by yuyidong on 16/7/22.
  */
 class BlockQuotesLive extends EditLive {
+    private Syntax mBlockQuotesSyntax;
+
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mBlockQuotesSyntax = EditFactory.create().getBlockQuotesSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_BLOCK_QUOTES_LEFT_SINGLE;
+    }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
@@ -39,17 +51,8 @@ class BlockQuotesLive extends EditLive {
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        String deleteString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
-        if (start + before + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start + before, s), TextHelper.safePosition(start + before + 1, s)).toString();
-        }
         //"> a" --> ">a"
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_BLOCK_QUOTES_LEFT_SINGLE, deleteString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BLOCK_QUOTES_LEFT_SINGLE.charAt(0))) {
             shouldFormat = true;
         }
     }
@@ -66,25 +69,13 @@ class BlockQuotesLive extends EditLive {
         if (after == 0) {
             return;
         }
-        String addString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + 1, s)).toString();
-        }
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
         //">a" --> "> a"
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_BLOCK_QUOTES_LEFT_SINGLE, addString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BLOCK_QUOTES_LEFT_SINGLE.charAt(0))) {
             format((Editable) s, start);
         }
     }
 
     private void format(Editable editable, int start) {
-        SyntaxUtils.removeSpans(editable, start, MDQuoteSpan.class);
-        Syntax syntax = EditFactory.create().getBlockQuotesSyntax(mMarkdownConfiguration);
-        List<EditToken> editTokenList = SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start);
-        SyntaxUtils.setSpans(editable, editTokenList);
+        formatDirty(editable, start, MDQuoteSpan.class, mBlockQuotesSyntax);
     }
 }
@@ -15,16 +15,14 @@
  */
 package com.yydcdut.markdown.live;
 
+import android.support.annotation.Nullable;
 import android.text.Editable;
 import android.text.style.AlignmentSpan;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
-import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
-
-import java.util.List;
 
 /**
  * RxMDEditText, center align controller.
@@ -32,6 +30,20 @@ import java.util.List;
  * Created by yuyidong on 16/7/22.
  */
 class CenterAlignLive extends EditLive {
+    private Syntax mCenterAlignSyntax;
+
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mCenterAlignSyntax = EditFactory.create().getCenterAlignSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_CENTER_ALIGN_LEFT + SyntaxKey.KEY_CENTER_ALIGN_RIGHT;
+    }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
@@ -39,7 +51,7 @@ class CenterAlignLive extends EditLive {
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        if (isNeedFormat(s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString())) {
+        if (isNeedFormat()) {
             shouldFormat = true;
         }
     }
@@ -56,19 +68,16 @@ class CenterAlignLive extends EditLive {
         if (after == 0) {
             return;
         }
-        if (isNeedFormat(s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString())) {
+        if (isNeedFormat()) {
             format((Editable) s, start);
         }
     }
 
     private void format(Editable editable, int start) {
-        SyntaxUtils.removeSpans(editable, start, AlignmentSpan.Standard.class);
-        Syntax syntax = EditFactory.create().getCenterAlignSyntax(mMarkdownConfiguration);
-        List<EditToken> editTokenList = SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start);
-        SyntaxUtils.setSpans(editable, editTokenList);
+        formatDirty(editable, start, AlignmentSpan.Standard.class, mCenterAlignSyntax);
     }
 
-    private boolean isNeedFormat(String string) {
-        return string.contains(SyntaxKey.KEY_CENTER_ALIGN_LEFT) || string.contains(SyntaxKey.KEY_CENTER_ALIGN_RIGHT);
+    private boolean isNeedFormat() {
+        return mTextChangeEvent.contains(SyntaxKey.KEY_CENTER_ALIGN_LEFT.charAt(0)) || mTextChangeEvent.contains(SyntaxKey.KEY_CENTER_ALIGN_RIGHT.charAt(0));
     }
 }
@@ -15,14 +15,16 @@
  */
 package com.yydcdut.markdown.live;
 
+import android.support.annotation.Nullable;
 import android.text.Editable;
+import android.util.Pair;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.span.MDCodeBlockSpan;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
 import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
 
 import java.util.List;
 
@@ -32,6 +34,20 @@ import java.util.List;
  * Created by yuyidong on 16/7/22.
  */
 class CodeBlockLive extends EditLive {
+    private Syntax mCodeBlockSyntax;
+
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mCodeBlockSyntax = EditFactory.create().getCodeBlockSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_CODE_BLOCK_SINGLE;
+    }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
@@ -39,17 +55,8 @@ class CodeBlockLive extends EditLive {
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        String deleteString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
-        if (start + before + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start + before, s), TextHelper.safePosition(start + before + 1, s)).toString();
-        }
         //`1``(``1`)(```1)(1```) --> ```
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_CODE_BLOCK_SINGLE, deleteString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_CODE_BLOCK_SINGLE.charAt(0))) {
             shouldFormat = true;
         }
     }
@@ -66,26 +73,23 @@ class CodeBlockLive extends EditLive {
         if (after == 0) {
             return;
         }
-        String addString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + 1, s)).toString();
-        }
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
         //``` --> `1``(``1`)(```1)(1```)
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_CODE_BLOCK_SINGLE, addString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_CODE_BLOCK_SINGLE.charAt(0))) {
             format((Editable) s, start);
         }
     }
 
-
     private void format(Editable editable, int start) {
         SyntaxUtils.removeSpans(editable, start, MDCodeBlockSpan.class);
-        Syntax syntax = EditFactory.create().getCodeBlockSyntax(mMarkdownConfiguration);
-        List<EditToken> editTokenList = syntax.format(editable);
+        if (mParagraphIndex != null && mParagraphIndex.isFenceChanged()) {
+            //the paragraphs until the next "```" may be out of code block now, parse them again
+            EditFactory editFactory = (EditFactory) EditFactory.create();
+            for (Pair<Integer, Integer> range : mParagraphIndex.getDirtyRanges(editable)) {
+                List<EditToken> list = editFactory.getEditTokens(editable, mMarkdownConfiguration, range.first, range.second);
+                EditFactory.applyEditTokens(editable, list, range.first, range.second);
+            }
+        }
+        List<EditToken> editTokenList = mCodeBlockSyntax.format(editable);
         SyntaxUtils.setCodeSpan(editable, editTokenList);
     }
 }
@@ -15,16 +15,14 @@
  */
 package com.yydcdut.markdown.live;
 
+import android.support.annotation.Nullable;
 import android.text.Editable;
 import android.text.style.BackgroundColorSpan;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
-import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
-
-import java.util.List;
 
 /**
  * RxMDEditText, inline code controller.
@@ -32,6 +30,20 @@ import java.util.List;
  * Created by yuyidong on 16/7/22.
  */
 class CodeLive extends EditLive {
+    private Syntax mCodeSyntax;
+
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mCodeSyntax = EditFactory.create().getCodeSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_CODE;
+    }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
@@ -39,8 +51,7 @@ class CodeLive extends EditLive {
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        String deleteString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString();
-        if (deleteString.contains(SyntaxKey.KEY_CODE)) {
+        if (mTextChangeEvent.contains(SyntaxKey.KEY_CODE.charAt(0))) {
             shouldFormat = true;
         }
     }
@@ -57,16 +68,12 @@ class CodeLive extends EditLive {
         if (after == 0) {
             return;
         }
-        String addString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString();
-        if (addString.contains(SyntaxKey.KEY_CODE)) {
+        if (mTextChangeEvent.contains(SyntaxKey.KEY_CODE.charAt(0))) {
             format((Editable) s, start);
         }
     }
 
     private void format(Editable editable, int start) {
-        SyntaxUtils.removeSpans(editable, start, BackgroundColorSpan.class);
-        Syntax syntax = EditFactory.create().getCodeSyntax(mMarkdownConfiguration);
-        List<EditToken> editTokenList = SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start);
-        SyntaxUtils.setSpans(editable, editTokenList);
+        formatDirty(editable, start, BackgroundColorSpan.class, mCodeSyntax);
     }
 }
@@ -16,8 +16,18 @@
 package com.yydcdut.markdown.live;
 
 import android.support.annotation.Nullable;
+import android.text.Editable;
+import android.text.Spanned;
+import android.util.Pair;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.syntax.Syntax;
+import com.yydcdut.markdown.syntax.edit.EditFactory;
+import com.yydcdut.markdown.utils.SyntaxUtils;
+import com.yydcdut.markdown.utils.TextHelper;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * abstract class to set RxMDConfiguration
@@ -28,12 +38,66 @@ abstract class EditLive implements IEditLive {
 
     protected MarkdownConfiguration mMarkdownConfiguration;
     protected boolean shouldFormat = false;
+    protected ParagraphIndex mParagraphIndex;
+    protected TextChangeEvent mTextChangeEvent;
+    protected SpanIndex mSpanIndex;
 
     @Override
     public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
         mMarkdownConfiguration = markdownConfiguration;
     }
 
+    void setParagraphIndex(@Nullable ParagraphIndex paragraphIndex) {
+        mParagraphIndex = paragraphIndex;
+    }
+
+    void setTextChangeEvent(@Nullable TextChangeEvent textChangeEvent) {
+        mTextChangeEvent = textChangeEvent;
+    }
+
+    void setSpanIndex(@Nullable SpanIndex spanIndex) {
+        mSpanIndex = spanIndex;
+    }
+
+    /**
+     * get the spans from span index, if there is no span index, from the text
+     *
+     * @param text  the text
+     * @param start the start position
+     * @param end   the end position
+     * @param type  the class of spans
+     * @param <T>   the type of spans
+     * @return the spans
+     */
+    protected <T> T[] getSpans(Spanned text, int start, int end, Class<T> type) {
+        return mSpanIndex != null ? mSpanIndex.getSpans(text, start, end, type) : text.getSpans(start, end, type);
+    }
+
+    /**
+     * the keys which make this controller work when they are in or next to the changed text
+     *
+     * @return the keys
+     */
+    String getTriggerKeys() {
+        return "";
+    }
+
+    /**
+     * the first characters of line which make this controller work when the line is changed
+     *
+     * @return the first characters of line
+     */
+    String getTriggerLinePrefixes() {
+        return "";
+    }
+
+    /**
+     * the controller isn't triggered by this change, forget the state of last change
+     */
+    void reset() {
+        shouldFormat = false;
+    }
+
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
         shouldFormat = false;
@@ -42,4 +106,31 @@ abstract class EditLive implements IEditLive {
     @Override
     public void onSelectionChanged(int selStart, int selEnd) {
     }
+
+    /**
+     * remove the spans of clazz and parse again with the syntaxes in the dirty paragraphs,
+     * if there is no paragraph index, in the line where start is
+     *
+     * @param editable the content
+     * @param start    the position of changing
+     * @param clazz    the span class of syntaxes
+     * @param syntaxes the syntaxes
+     */
+    protected void formatDirty(Editable editable, int start, Class<?> clazz, Syntax... syntaxes) {
+        List<Pair<Integer, Integer>> rangeList;
+        if (mParagraphIndex != null) {
+            rangeList = mParagraphIndex.getDirtyRanges(editable);
+        } else {
+            rangeList = new ArrayList<>(1);
+            rangeList.add(new Pair<>(TextHelper.findBeforeNewLineChar(editable, start) + 1, TextHelper.findNextNewLineCharCompat(editable, start)));
+        }
+        List<EditToken> editTokenList = new ArrayList<>();
+        for (Pair<Integer, Integer> range : rangeList) {
+            SyntaxUtils.removeSpans(editable, range.first, range.second, clazz);
+            for (Syntax syntax : syntaxes) {
+                editTokenList.addAll(EditFactory.format(syntax, editable, range.first, range.second));
+            }
+        }
+        SyntaxUtils.setSpans(editable, editTokenList);
+    }
 }
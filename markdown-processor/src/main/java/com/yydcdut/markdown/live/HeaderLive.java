@@ -15,16 +15,14 @@
  */
 package com.yydcdut.markdown.live;
 
+import android.support.annotation.Nullable;
 import android.text.Editable;
 import android.text.style.RelativeSizeSpan;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
-import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
-
-import java.util.List;
 
 /**
  * RxMDEditText, header controller.
@@ -32,6 +30,25 @@ import java.util.List;
  * Created by yuyidong on 16/7/21.
  */
 class HeaderLive extends EditLive {
+    private Syntax mHeaderSyntax;
+
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mHeaderSyntax = EditFactory.create().getHeaderSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_HEADER_SINGLE;
+    }
+
+    @Override
+    String getTriggerLinePrefixes() {
+        return SyntaxKey.KEY_HEADER_SINGLE;
+    }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
@@ -39,17 +56,8 @@ class HeaderLive extends EditLive {
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        String deleteString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
-        if (start + before + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start + before, s), TextHelper.safePosition(start + before + 1, s)).toString();
-        }
         //#12# ss(##12 ss) --> ## ss
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_HEADER_SINGLE, deleteString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_HEADER_SINGLE.charAt(0))) {
             shouldFormat = true;
         }
     }
@@ -66,30 +74,14 @@ class HeaderLive extends EditLive {
         if (after == 0) {
             return;
         }
-        String addString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + 1, s)).toString();
-        }
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
         //## ss --> #12# ss(##12 ss)
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_HEADER_SINGLE, addString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_HEADER_SINGLE.charAt(0))
+                || mTextChangeEvent.getLineFirstChar() == SyntaxKey.KEY_HEADER_SINGLE.charAt(0)) {
             format((Editable) s, start);
-        } else {
-            int lineFirstCharPosition = TextHelper.findBeforeNewLineChar(s, start);
-            if (s.subSequence(TextHelper.safePosition(lineFirstCharPosition + 1, s), TextHelper.safePosition(lineFirstCharPosition + 2, s)).toString().equals(SyntaxKey.KEY_HEADER_SINGLE)) {
-                format((Editable) s, lineFirstCharPosition + 1);
-            }
         }
     }
 
     private void format(Editable editable, int start) {
-        SyntaxUtils.removeSpans(editable, start, RelativeSizeSpan.class);
-        Syntax syntax = EditFactory.create().getHeaderSyntax(mMarkdownConfiguration);
-        List<EditToken> editTokenList = SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start);
-        SyntaxUtils.setSpans(editable, editTokenList);
+        formatDirty(editable, start, RelativeSizeSpan.class, mHeaderSyntax);
     }
 }
@@ -17,19 +17,17 @@ package com.yydcdut.markdown.live;
 
 import android.graphics.Color;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.text.Editable;
 import android.text.Spanned;
 import android.text.style.ForegroundColorSpan;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.MarkdownEditText;
 import com.yydcdut.markdown.span.MDHorizontalRulesSpan;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
-import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
-
-import java.util.List;
 
 /**
  * RxMDEditText, horizontal rules controller.
@@ -39,8 +37,11 @@ import java.util.List;
  * Created by yuyidong on 16/7/8.
  */
 class HorizontalRulesLive extends EditLive {
-
     private MarkdownEditText mMarkdownEditText;
+    private int mModCount = -1;
+    private int mSelectionStart;
+    private int mSelectionEnd;
+    private Syntax mHorizontalRulesSyntax;
 
     /**
      * Constructor
@@ -51,24 +52,28 @@ class HorizontalRulesLive extends EditLive {
         mMarkdownEditText = MarkdownEditText;
     }
 
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mHorizontalRulesSyntax = EditFactory.create().getHorizontalRulesSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE + SyntaxKey.KEY_BOLD_ASTERISK_SINGLE;
+    }
+
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
         super.beforeTextChanged(s, start, before, after);
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        String deleteString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
-        if (start + before + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start + before, s), TextHelper.safePosition(start + before + 1, s)).toString();
-        }
         //1---(-1--)(--1-)(---1) --> ---
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE, deleteString, beforeString, afterString)
-                || TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE, deleteString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE.charAt(0))
+                || mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE.charAt(0))) {
             shouldFormat = true;
         }
     }
@@ -85,39 +90,37 @@ class HorizontalRulesLive extends EditLive {
         if (after == 0) {
             return;
         }
-        String addString;
-        String beforeString = null;
-        String afterString = null;
-        addString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString();
-        if (start + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + 1, s)).toString();
-        }
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
         //--- --> 1---(-1--)(--1-)(---1)
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE, addString, beforeString, afterString)
-                || TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE, addString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE.charAt(0))
+                || mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE.charAt(0))) {
             format((Editable) s, start);
         }
     }
 
     private void format(Editable editable, int start) {
-        SyntaxUtils.removeSpans(editable, start, MDHorizontalRulesSpan.class);
-        Syntax syntax = EditFactory.create().getHorizontalRulesSyntax(mMarkdownConfiguration);
-        List<EditToken> editTokenList = SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start);
-        SyntaxUtils.setSpans(editable, editTokenList);
+        formatDirty(editable, start, MDHorizontalRulesSpan.class, mHorizontalRulesSyntax);
     }
 
     @Override
     public void onSelectionChanged(int selStart, int selEnd) {
-        setAllHorizontalRulesTextColor();
+        Editable editable = mMarkdownEditText.getText();
+        int modCount = mSpanIndex != null ? mSpanIndex.getModCount(MDHorizontalRulesSpan.class) : -1;
+        if (modCount == -1 || modCount != mModCount) {
+            //horizontal rules are added or removed, set the color of all
+            setHorizontalRulesTextColor(0, editable.length());
+            mModCount = modCount;
+        } else {
+            //only the horizontal rules where the selection was need the color again
+            setHorizontalRulesTextColor(Math.min(mSelectionStart, editable.length()), Math.min(mSelectionEnd, editable.length()));
+        }
         removeCurrentHorizontalRulesTextColor(selStart, selEnd);
+        mSelectionStart = selStart;
+        mSelectionEnd = selEnd;
     }
 
-    private void setAllHorizontalRulesTextColor() {
+    private void setHorizontalRulesTextColor(int selStart, int selEnd) {
         Editable editable = mMarkdownEditText.getText();
-        MDHorizontalRulesSpan[] spans = editable.getSpans(0, editable.length(), MDHorizontalRulesSpan.class);
+        MDHorizontalRulesSpan[] spans = getSpans(editable, selStart, selEnd, MDHorizontalRulesSpan.class);
         if (spans.length > 0) {
             for (MDHorizontalRulesSpan span : spans) {
                 int start = editable.getSpanStart(span);
@@ -134,7 +137,7 @@ class HorizontalRulesLive extends EditLive {
 
     private void removeCurrentHorizontalRulesTextColor(int selStart, int selEnd) {
         Editable editable = mMarkdownEditText.getText();
-        MDHorizontalRulesSpan[] spans = editable.getSpans(selStart, selEnd, MDHorizontalRulesSpan.class);
+        MDHorizontalRulesSpan[] spans = getSpans(editable, selStart, selEnd, MDHorizontalRulesSpan.class);
         if (spans == null || spans.length == 0) {
             return;
         }
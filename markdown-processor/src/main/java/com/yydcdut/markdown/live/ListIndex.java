@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The index of list items in EditText, one entry for each line: the type of list, the nested number and the list number.
+ * <p>
+ * It is updated on each text change, only the lines touched by the change are parsed again,
+ * so the list controller finds the items and the following items of a list without getting spans or matching regex.
+ */
+class ListIndex {
+    static final int TYPE_NONE = 0;
+    static final int TYPE_ORDER = 1;
+    static final int TYPE_UNORDER = 2;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] mStarts = new int[DEFAULT_CAPACITY];
+    private int[] mTypes = new int[DEFAULT_CAPACITY];
+    private int[] mNested = new int[DEFAULT_CAPACITY];
+    private int[] mNumbers = new int[DEFAULT_CAPACITY];
+    private int[] mDigits = new int[DEFAULT_CAPACITY];
+    private int mCount = 1;
+    private int mLength = -1;
+
+    /**
+     * invoke when the text is changed, update the lines and parse the changed lines again
+     *
+     * @param s      the content after changing
+     * @param start  the start position of changing
+     * @param before the length of text replaced
+     * @param after  the length of new text
+     */
+    void onTextChanged(@NonNull CharSequence s, int start, int before, int after) {
+        if (mLength - before + after != s.length() || start < 0 || start + after > s.length()) {
+            //the changes happened without notification, index again
+            rebuild(s);
+            mLength = s.length();
+            return;
+        }
+        update(s, start, before, after);
+        mLength = s.length();
+        final int last = getLine(start + after);
+        for (int i = getLine(start); i <= last; i++) {
+            parse(s, i);
+        }
+    }
+
+    /**
+     * the index is out of date, it will be built again on next change
+     */
+    void invalidate() {
+        mLength = -1;
+    }
+
+    /**
+     * whether the index is built for the content
+     *
+     * @param s the content
+     * @return true if it is
+     */
+    boolean isValid(@NonNull CharSequence s) {
+        return mLength == s.length();
+    }
+
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * binary search the line where the position is
+     */
+    int getLine(int position) {
+        int low = 0;
+        int high = mCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (mStarts[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    int getLineStart(int line) {
+        return mStarts[line];
+    }
+
+    /**
+     * the end position of line, excluding '\n'
+     */
+    int getLineEnd(@NonNull CharSequence s, int line) {
+        return line + 1 < mCount ? mStarts[line + 1] - 1 : s.length();
+    }
+
+    int getType(int line) {
+        return mTypes[line];
+    }
+
+    int getNested(int line) {
+        return mNested[line];
+    }
+
+    /**
+     * the list number of order list
+     */
+    int getNumber(int line) {
+        return mNumbers[line];
+    }
+
+    /**
+     * the length of list number in text of order list, such as 2 for "01. "
+     */
+    int getDigits(int line) {
+        return mDigits[line];
+    }
+
+    private void update(@NonNull CharSequence s, int start, int before, int after) {
+        final int delta = after - before;
+        //remove the lines whose '\n' before are replaced
+        int from = getLine(start) + 1;
+        int to = from;
+        while (to < mCount && mStarts[to] <= start + before) {
+            to++;
+        }
+        //the lines whose '\n' before are added
+        int added = 0;
+        for (int i = start; i < start + after; i++) {
+            if (s.charAt(i) == '\n') {
+                added++;
+            }
+        }
+        final int newCount = mCount - (to - from) + added;
+        ensureCapacity(newCount);
+        final int moved = mCount - to;
+        System.arraycopy(mStarts, to, mStarts, from + added, moved);
+        System.arraycopy(mTypes, to, mTypes, from + added, moved);
+        System.arraycopy(mNested, to, mNested, from + added, moved);
+        System.arraycopy(mNumbers, to, mNumbers, from + added, moved);
+        System.arraycopy(mDigits, to, mDigits, from + added, moved);
+        for (int i = from + added; i < newCount; i++) {
+            mStarts[i] += delta;
+        }
+        int line = from;
+        for (int i = start; i < start + after; i++) {
+            if (s.charAt(i) == '\n') {
+                mStarts[line] = i + 1;
+                line++;
+            }
+        }
+        mCount = newCount;
+    }
+
+    private void rebuild(@NonNull CharSequence s) {
+        final int length = s.length();
+        mCount = 1;
+        mStarts[0] = 0;
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) == '\n') {
+                ensureCapacity(mCount + 1);
+                mStarts[mCount] = i + 1;
+                mCount++;
+            }
+        }
+        for (int i = 0; i < mCount; i++) {
+            parse(s, i);
+        }
+    }
+
+    /**
+     * parse the line, "^( *)(\d+)\. (.*?)$" is order list and "^( *)[*+-] (.*?)$" is unorder list
+     */
+    private void parse(@NonNull CharSequence s, int line) {
+        final int end = getLineEnd(s, line);
+        int i = mStarts[line];
+        while (i < end && s.charAt(i) == ' ') {
+            i++;
+        }
+        mTypes[line] = TYPE_NONE;
+        mNested[line] = i - mStarts[line];
+        mNumbers[line] = 0;
+        mDigits[line] = 0;
+        if (i + 1 >= end) {
+            return;
+        }
+        char c = s.charAt(i);
+        if ((c == '*' || c == '+' || c == '-') && s.charAt(i + 1) == ' ') {
+            mTypes[line] = TYPE_UNORDER;
+            return;
+        }
+        int number = 0;
+        int digitStart = i;
+        while (i < end && Character.isDigit(s.charAt(i))) {
+            number = number * 10 + (s.charAt(i) - '0');
+            i++;
+        }
+        if (i > digitStart && i + 1 < end && s.charAt(i) == '.' && s.charAt(i + 1) == ' ') {
+            mTypes[line] = TYPE_ORDER;
+            mNumbers[line] = number;
+            mDigits[line] = i - digitStart;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mStarts.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, mStarts.length * 2);
+        mStarts = copyOf(mStarts, newCapacity);
+        mTypes = copyOf(mTypes, newCapacity);
+        mNested = copyOf(mNested, newCapacity);
+        mNumbers = copyOf(mNumbers, newCapacity);
+        mDigits = copyOf(mDigits, newCapacity);
+    }
+
+    private int[] copyOf(int[] array, int capacity) {
+        int[] newArray = new int[capacity];
+        System.arraycopy(array, 0, newArray, 0, mCount);
+        return newArray;
+    }
+}
@@ -26,9 +26,6 @@ import com.yydcdut.markdown.span.MDOrderListSpan;
 import com.yydcdut.markdown.span.MDUnOrderListSpan;
 import com.yydcdut.markdown.utils.TextHelper;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * RxMDEditText, order and unorder list controller.
  * When input "enter(\n)", RxMDEditText will check the line up the new line whether is order nor unorder list.
@@ -43,6 +40,7 @@ class ListLive extends EditLive {
     private MarkdownConfiguration mMarkdownConfiguration;
 
     private boolean mNeedFormat;
+    private final ListIndex mListIndex = new ListIndex();
 
     /**
      * Constructor
@@ -58,6 +56,7 @@ class ListLive extends EditLive {
     @Override
     public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
         mMarkdownConfiguration = markdownConfiguration;
+        mListIndex.invalidate();
     }
 
     /**
@@ -119,6 +118,7 @@ class ListLive extends EditLive {
             return;
         }
         Editable editable = (Editable) s;
+        mListIndex.onTextChanged(editable, start, before, after);
         if (checkNewLineInput(editable, start, before, after)) {
             MDOrderListSpan mdOrderListSpan = getOrderListSpan(editable, start, false);
             MDUnOrderListSpan mdUnOrderListSpan = getUnOrderListSpan(editable, start, false);
@@ -218,9 +218,10 @@ class ListLive extends EditLive {
         if (nested == 0) {
             editable.removeSpan(mdUnOrderListSpan);
             mMarkdownEditText.removeTextChangedListener(mTextWatcher);
-            mTextWatcher.doBeforeTextChanged(editable, start, (spanEnd - spanStart), 0);
+            mTextWatcher.doBeforeTextChanged(editable, spanStart, (spanEnd - spanStart), 0);
             editable.delete(spanStart, spanEnd);
-            mTextWatcher.doOnTextChanged(editable, start, (spanEnd - spanStart), 0);
+            mListIndex.onTextChanged(editable, spanStart, (spanEnd - spanStart), 0);
+            mTextWatcher.doOnTextChanged(editable, spanStart, (spanEnd - spanStart), 0);
             mTextWatcher.doAfterTextChanged(editable);
             mMarkdownEditText.addTextChangedListener(mTextWatcher);
         } else {
@@ -228,10 +229,12 @@ class ListLive extends EditLive {
             mMarkdownEditText.removeTextChangedListener(mTextWatcher);
             mTextWatcher.doBeforeTextChanged(editable, start + after - 1, 1, 0);
             editable.delete(start + after - 1, start + after);//delete '\n'
+            mListIndex.onTextChanged(editable, start + after - 1, 1, 0);
             mTextWatcher.doOnTextChanged(editable, start + after - 1, 1, 0);
             mTextWatcher.doAfterTextChanged(editable);
             mTextWatcher.doBeforeTextChanged(editable, spanStart, 1, 0);
             editable.delete(spanStart, spanStart + 1);//decrease nested
+            mListIndex.onTextChanged(editable, spanStart, 1, 0);
             mTextWatcher.doOnTextChanged(editable, spanStart, 1, 0);
             mTextWatcher.doAfterTextChanged(editable);
             mMarkdownEditText.addTextChangedListener(mTextWatcher);
@@ -256,9 +259,10 @@ class ListLive extends EditLive {
         if (nested == 0) {
             editable.removeSpan(mdOrderListSpan);
             mMarkdownEditText.removeTextChangedListener(mTextWatcher);
-            mTextWatcher.doBeforeTextChanged(editable, start, (spanEnd - spanStart), 0);
+            mTextWatcher.doBeforeTextChanged(editable, spanStart, (spanEnd - spanStart), 0);
             editable.delete(spanStart, spanEnd);
-            mTextWatcher.doOnTextChanged(editable, start, (spanEnd - spanStart), 0);
+            mListIndex.onTextChanged(editable, spanStart, (spanEnd - spanStart), 0);
+            mTextWatcher.doOnTextChanged(editable, spanStart, (spanEnd - spanStart), 0);
             mTextWatcher.doAfterTextChanged(editable);
             mMarkdownEditText.addTextChangedListener(mTextWatcher);
         } else {
@@ -266,10 +270,12 @@ class ListLive extends EditLive {
             mMarkdownEditText.removeTextChangedListener(mTextWatcher);
             mTextWatcher.doBeforeTextChanged(editable, start + after - 1, 1, 0);
             editable.delete(start + after - 1, start + after);//delete '\n'
+            mListIndex.onTextChanged(editable, start + after - 1, 1, 0);
             mTextWatcher.doOnTextChanged(editable, start + after - 1, 1, 0);
             mTextWatcher.doAfterTextChanged(editable);
             mTextWatcher.doBeforeTextChanged(editable, spanStart, 1, 0);
             editable.delete(spanStart, spanStart + 1);//decrease nested
+            mListIndex.onTextChanged(editable, spanStart, 1, 0);
             mTextWatcher.doOnTextChanged(editable, spanStart, 1, 0);
             mTextWatcher.doAfterTextChanged(editable);
             mMarkdownEditText.addTextChangedListener(mTextWatcher);
@@ -288,16 +294,70 @@ class ListLive extends EditLive {
         String appendString = getOrderListNestedString(mdOrderListSpan.getNested(), mdOrderListSpan.getNumber());
         mTextWatcher.doBeforeTextChanged(editable, start + 1, 0, appendString.length());
         editable.insert(start + 1, appendString);
+        mListIndex.onTextChanged(editable, start + 1, 0, appendString.length());
         int position = TextHelper.findNextNewLineCharCompat(editable, start + appendString.length());
         editable.setSpan(new MDOrderListSpan(10, mdOrderListSpan.getNested(), mdOrderListSpan.getNumber() + 1),
                 start + 1,
                 position == -1 ? start + 1 + appendString.length() : position,
                 Spanned.SPAN_INCLUSIVE_INCLUSIVE);
         mTextWatcher.doOnTextChanged(editable, start + 1, 0, appendString.length());
+        renumberOrderList(editable, mListIndex.getLine(start + 1));
         mTextWatcher.doAfterTextChanged(editable);
         mMarkdownEditText.addTextChangedListener(mTextWatcher);
     }
 
+    /**
+     * 1. a\n2. b\n2. c --> 1. a\n2. b\n3. c
+     * renumber the following items of the order list, the list ends when the number is already right,
+     * the replacements are applied from the last one so the positions of the others don't move
+     *
+     * @param editable the text
+     * @param line     the line of the item whose number changed
+     */
+    private void renumberOrderList(Editable editable, int line) {
+        if (mListIndex.getType(line) != ListIndex.TYPE_ORDER) {
+            return;
+        }
+        final int nested = mListIndex.getNested(line);
+        final int number = mListIndex.getNumber(line);
+        int count = 0;
+        int last = line;
+        for (int i = line + 1; i < mListIndex.getCount(); i++) {
+            int type = mListIndex.getType(i);
+            if (type == ListIndex.TYPE_NONE || mListIndex.getNested(i) < nested) {
+                break;
+            }
+            if (mListIndex.getNested(i) > nested) {
+                continue;
+            }
+            if (type != ListIndex.TYPE_ORDER || mListIndex.getNumber(i) == number + count + 1) {
+                break;
+            }
+            count++;
+            last = i;
+        }
+        for (int i = last; i > line; i--) {
+            if (mListIndex.getNested(i) != nested) {
+                continue;
+            }
+            int digitStart = mListIndex.getLineStart(i) + nested;
+            int digits = mListIndex.getDigits(i);
+            String numberString = String.valueOf(number + count);
+            MDOrderListSpan mdOrderListSpan = getOrderListSpan(editable, mListIndex.getLineStart(i), true);
+            mTextWatcher.doBeforeTextChanged(editable, digitStart, digits, numberString.length());
+            editable.replace(digitStart, digitStart + digits, numberString);
+            mListIndex.onTextChanged(editable, digitStart, digits, numberString.length());
+            if (mdOrderListSpan != null) {
+                int spanStart = editable.getSpanStart(mdOrderListSpan);
+                int spanEnd = editable.getSpanEnd(mdOrderListSpan);
+                editable.removeSpan(mdOrderListSpan);
+                editable.setSpan(new MDOrderListSpan(10, nested, number + count), spanStart, spanEnd, Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            }
+            mTextWatcher.doOnTextChanged(editable, digitStart, digits, numberString.length());
+            count--;
+        }
+    }
+
     /**
      * - aaa --> - aaa\n-
      *
@@ -310,6 +370,7 @@ class ListLive extends EditLive {
         String appendString = getUnOderListNestedString(mdUnOrderListSpan.getNested(), mdUnOrderListSpan.getType());
         mTextWatcher.doBeforeTextChanged(editable, start + 1, 0, appendString.length());
         editable.insert(start + 1, appendString);
+        mListIndex.onTextChanged(editable, start + 1, 0, appendString.length());
         int position = TextHelper.findNextNewLineCharCompat(editable, start + appendString.length());
         editable.setSpan(new MDUnOrderListSpan(10, mdUnOrderListSpan.getColor(), mdUnOrderListSpan.getNested(), mdUnOrderListSpan.getType()),
                 start + 1,
@@ -369,7 +430,7 @@ class ListLive extends EditLive {
      * @param after    add text's number
      * @return whether it is the head of line and starts with order or unorder list key
      */
-    private static boolean checkLineHeaderPosition(Editable editable, int start, int before, int after) {
+    private boolean checkLineHeaderPosition(Editable editable, int start, int before, int after) {
         if (start == 0 || TextHelper.findBeforeNewLineChar(editable, start) + 1 == start) {
             int end = TextHelper.findNextNewLineCharCompat(editable, start);
             if (getOrderListSpan(editable, start, true) != null ||
@@ -428,12 +489,12 @@ class ListLive extends EditLive {
      * @return
      */
     @Nullable
-    private static MDOrderListSpan getOrderListSpan(Editable editable, int start, boolean beginning) {
+    private MDOrderListSpan getOrderListSpan(Editable editable, int start, boolean beginning) {
         MDOrderListSpan[] mdOrderListSpans;
         if (beginning) {
-            mdOrderListSpans = editable.getSpans(start, start + 1, MDOrderListSpan.class);
+            mdOrderListSpans = getSpans(editable, start, start + 1, MDOrderListSpan.class);
         } else {
-            mdOrderListSpans = editable.getSpans(start - 1, start, MDOrderListSpan.class);
+            mdOrderListSpans = getSpans(editable, start - 1, start, MDOrderListSpan.class);
         }
         if (mdOrderListSpans != null && mdOrderListSpans.length > 0) {
             return mdOrderListSpans[0];
@@ -497,12 +558,12 @@ class ListLive extends EditLive {
      * @return
      */
     @Nullable
-    private static MDUnOrderListSpan getUnOrderListSpan(Editable editable, int start, boolean beginning) {
+    private MDUnOrderListSpan getUnOrderListSpan(Editable editable, int start, boolean beginning) {
         MDUnOrderListSpan[] mdUnOrderListSpans;
         if (beginning) {
-            mdUnOrderListSpans = editable.getSpans(start, start + 1, MDUnOrderListSpan.class);
+            mdUnOrderListSpans = getSpans(editable, start, start + 1, MDUnOrderListSpan.class);
         } else {
-            mdUnOrderListSpans = editable.getSpans(start - 1, start, MDUnOrderListSpan.class);
+            mdUnOrderListSpans = getSpans(editable, start - 1, start, MDUnOrderListSpan.class);
         }
         if (mdUnOrderListSpans != null && mdUnOrderListSpans.length > 0) {
             return mdUnOrderListSpans[0];
@@ -520,7 +581,7 @@ class ListLive extends EditLive {
      * @param after    the add number
      * @return TRUE --> at the beginning
      */
-    private static boolean isBeginningOfListSpan(Editable editable, int start, int before, int after) {
+    private boolean isBeginningOfListSpan(Editable editable, int start, int before, int after) {
         if (before - after > 0) {
             return false;
         }
@@ -551,9 +612,9 @@ class ListLive extends EditLive {
      * @return the order list span or null
      */
     @Nullable
-    private static MDOrderListSpan getOrderListBeginning(Editable editable, int start, int before, int after) {
+    private MDOrderListSpan getOrderListBeginning(Editable editable, int start, int before, int after) {
         if (before != 0) {
-            MDOrderListSpan[] mdOrderListSpans = editable.getSpans(start, start, MDOrderListSpan.class);
+            MDOrderListSpan[] mdOrderListSpans = getSpans(editable, start, start, MDOrderListSpan.class);
             if (mdOrderListSpans != null && mdOrderListSpans.length > 0) {
                 return mdOrderListSpans[0];
             }
@@ -563,7 +624,7 @@ class ListLive extends EditLive {
                 return null;
             }
             int addNumber = Math.abs(after - before);//增加了多少
-            MDOrderListSpan[] mdOrderListSpans = editable.getSpans(start + addNumber, start + addNumber + 1, MDOrderListSpan.class);
+            MDOrderListSpan[] mdOrderListSpans = getSpans(editable, start + addNumber, start + addNumber + 1, MDOrderListSpan.class);
             if (mdOrderListSpans != null && mdOrderListSpans.length > 0) {
                 return mdOrderListSpans[0];
             }
@@ -581,9 +642,9 @@ class ListLive extends EditLive {
      * @return the unorder list span or null
      */
     @Nullable
-    private static MDUnOrderListSpan getUnOrderListBeginning(Editable editable, int start, int before, int after) {
+    private MDUnOrderListSpan getUnOrderListBeginning(Editable editable, int start, int before, int after) {
         if (before != 0) {
-            MDUnOrderListSpan[] mdUnOrderListSpans = editable.getSpans(start, start, MDUnOrderListSpan.class);
+            MDUnOrderListSpan[] mdUnOrderListSpans = getSpans(editable, start, start, MDUnOrderListSpan.class);
             if (mdUnOrderListSpans != null && mdUnOrderListSpans.length > 0) {
                 return mdUnOrderListSpans[0];
             }
@@ -592,7 +653,7 @@ class ListLive extends EditLive {
             if (start + 1 > editable.length()) {
                 return null;
             }
-            MDUnOrderListSpan[] mdUnOrderListSpans = editable.getSpans(start, start + after + 1, MDUnOrderListSpan.class);
+            MDUnOrderListSpan[] mdUnOrderListSpans = getSpans(editable, start, start + after + 1, MDUnOrderListSpan.class);
             if (mdUnOrderListSpans != null && mdUnOrderListSpans.length > 0) {
                 return mdUnOrderListSpans[0];
             }
@@ -609,7 +670,7 @@ class ListLive extends EditLive {
      * @param before   the delete number
      * @param after    the add number
      */
-    private static void updateListSpanBeginning(Editable editable, int start, int before, int after) {
+    private void updateListSpanBeginning(Editable editable, int start, int before, int after) {
         MDOrderListSpan mdOrderListSpan = getOrderListBeginning(editable, start, before, after);
         MDUnOrderListSpan mdUnOrderListSpan = getUnOrderListBeginning(editable, start, before, after);
         if (mdOrderListSpan != null) {
@@ -773,17 +834,13 @@ class ListLive extends EditLive {
      * @param start    the start position
      * @return if satisfied, return true
      */
-    private static boolean isSatisfiedOrderListFormat(Editable editable, int start) {
-        int startPosition = TextHelper.findBeforeNewLineChar(editable, start) + 1;//略过\n
-        int endPosition = TextHelper.findNextNewLineCharCompat(editable, start);
-        MDOrderListSpan[] mdOrderListSpans = editable.getSpans(startPosition, endPosition, MDOrderListSpan.class);
-        if (mdOrderListSpans != null && mdOrderListSpans.length > 0) {
+    private boolean isSatisfiedOrderListFormat(Editable editable, int start) {
+        int line = mListIndex.getLine(start);
+        if (mListIndex.getType(line) != ListIndex.TYPE_ORDER) {
             return false;
         }
-        CharSequence charSequence = editable.subSequence(TextHelper.safePosition(startPosition, editable), TextHelper.safePosition(endPosition, editable));
-        Pattern p = Pattern.compile("^( *)(\\d+)\\. (.*?)$");
-        Matcher m = p.matcher(charSequence);
-        return m.matches();
+        MDOrderListSpan[] mdOrderListSpans = getSpans(editable, mListIndex.getLineStart(line), mListIndex.getLineEnd(editable, line), MDOrderListSpan.class);
+        return mdOrderListSpans == null || mdOrderListSpans.length == 0;
     }
 
     /**
@@ -792,13 +849,10 @@ class ListLive extends EditLive {
      * @param editable
      * @param start
      */
-    private static void formatOrderList(Editable editable, int start) {
-        int startPosition = TextHelper.findBeforeNewLineChar(editable, start) + 1;//略过\n
-        int endPosition = TextHelper.findNextNewLineCharCompat(editable, start);
-        int nested = calculateNested(editable, startPosition, 0);
-        int number = calculateOrderListNumber(editable, startPosition + nested, 0);
-        editable.setSpan(new MDOrderListSpan(10, nested, number),
-                startPosition, endPosition, Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+    private void formatOrderList(Editable editable, int start) {
+        int line = mListIndex.getLine(start);
+        editable.setSpan(new MDOrderListSpan(10, mListIndex.getNested(line), mListIndex.getNumber(line)),
+                mListIndex.getLineStart(line), mListIndex.getLineEnd(editable, line), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
     }
 
     /**
@@ -812,7 +866,7 @@ class ListLive extends EditLive {
      * @param after    the add number
      * @return if should change nested number, return true
      */
-    private static boolean checkDeleteOrderListSpan(Editable editable, int start, int before, int after) {
+    private boolean checkDeleteOrderListSpan(Editable editable, int start, int before, int after) {
         if (before == 0) {
             return false;
         }
@@ -838,7 +892,7 @@ class ListLive extends EditLive {
      * @param after    the add number
      * @return if should change nested, return true
      */
-    private static boolean checkDeleteUnOrderListSpan(Editable editable, int start, int before, int after) {
+    private boolean checkDeleteUnOrderListSpan(Editable editable, int start, int before, int after) {
         if (before == 0) {
             return false;
         }
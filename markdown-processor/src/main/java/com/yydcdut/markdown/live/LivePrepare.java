@@ -16,24 +16,32 @@
 package com.yydcdut.markdown.live;
 
 import android.support.annotation.NonNull;
+import android.util.Pair;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.MarkdownEditText;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by yuyidong on 2017/6/7.
  */
 public class LivePrepare {
     private boolean isConfig;
+    private boolean isStyling = true;
     private ArrayList<IEditLive> mEditControllerList;
+    private ParagraphIndex mParagraphIndex;
+    private TextChangeEvent mTextChangeEvent;
+    private boolean[] mTriggered;
+    private boolean mFenceDirty;
+    private boolean mAllDirty;
 
-    public LivePrepare(MarkdownEditText MarkdownEditText, MarkdownEditText.EditTextWatcher editTextWatcher) {
-        prepare(MarkdownEditText, editTextWatcher);
+    public LivePrepare(MarkdownEditText MarkdownEditText, MarkdownEditText.EditTextWatcher editTextWatcher, SpanIndex spanIndex) {
+        prepare(MarkdownEditText, editTextWatcher, spanIndex);
     }
 
-    private void prepare(MarkdownEditText MarkdownEditText, MarkdownEditText.EditTextWatcher editTextWatcher) {
+    private void prepare(MarkdownEditText MarkdownEditText, MarkdownEditText.EditTextWatcher editTextWatcher, SpanIndex spanIndex) {
         mEditControllerList = new ArrayList<>();
         mEditControllerList.add(new BlockQuotesLive());
         mEditControllerList.add(new StyleLive());
@@ -44,6 +52,77 @@ public class LivePrepare {
         mEditControllerList.add(new StrikeThroughLive());
         mEditControllerList.add(new ListLive(MarkdownEditText, editTextWatcher));
         mEditControllerList.add(new CodeBlockLive());
+        mParagraphIndex = new ParagraphIndex();
+        mTextChangeEvent = new TextChangeEvent();
+        mTriggered = new boolean[mEditControllerList.size()];
+        for (IEditLive controller : mEditControllerList) {
+            if (controller instanceof EditLive) {
+                ((EditLive) controller).setParagraphIndex(mParagraphIndex);
+                ((EditLive) controller).setTextChangeEvent(mTextChangeEvent);
+                ((EditLive) controller).setSpanIndex(spanIndex);
+            }
+        }
+    }
+
+    /**
+     * whether the controllers style the text when text changed,
+     * if not, only the controllers editing the text work, such as list,
+     * and the dirty paragraphs are kept until {@link #cleanDirty()} for the one who styles the text
+     *
+     * @param styling true if the controllers style the text
+     */
+    public void setStyling(boolean styling) {
+        isStyling = styling;
+    }
+
+    /**
+     * get the ranges of paragraphs changed since {@link #cleanDirty()} when not styling
+     *
+     * @param s the content
+     * @return the ranges, first is the start position and second is the end position(excluding '\n')
+     */
+    @NonNull
+    public List<Pair<Integer, Integer>> getDirtyRanges(@NonNull CharSequence s) {
+        return mParagraphIndex.getDirtyRanges(s);
+    }
+
+    /**
+     * whether code block key is added or removed since {@link #cleanDirty()} when not styling
+     *
+     * @return true if the code blocks should be parsed again
+     */
+    public boolean isFenceDirty() {
+        return mFenceDirty;
+    }
+
+    /**
+     * whether the text is changed without notification since {@link #cleanDirty()} when not styling,
+     * the dirty ranges are lost, so the whole text should be parsed again
+     *
+     * @return true if the whole text should be parsed again
+     */
+    public boolean isAllDirty() {
+        return mAllDirty;
+    }
+
+    /**
+     * the dirty paragraphs have been styled
+     */
+    public void cleanDirty() {
+        mParagraphIndex.clean();
+        mFenceDirty = false;
+        mAllDirty = false;
+    }
+
+    /**
+     * the whole text is styled, index it again and no paragraph is dirty
+     *
+     * @param s the content
+     */
+    public void resetDirty(@NonNull CharSequence s) {
+        mParagraphIndex.reset(s);
+        mFenceDirty = false;
+        mAllDirty = false;
     }
 
     public void config(@NonNull MarkdownConfiguration markdownConfiguration) {
@@ -64,12 +143,24 @@ public class LivePrepare {
         }
     }
 
+    /**
+     * the change is computed once and shared, only the controllers whose keys or line prefixes match the change are invoked
+     */
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
         if (!isConfig) {
             return;
         }
-        for (IEditLive iEditLive : mEditControllerList) {
-            iEditLive.beforeTextChanged(s, start, before, after);
+        mParagraphIndex.beforeTextChanged(s, start, before, after);
+        mTextChangeEvent.setBeforeTextChanged(s, start, before, after);
+        final int size = mEditControllerList.size();
+        for (int i = 0; i < size; i++) {
+            IEditLive iEditLive = mEditControllerList.get(i);
+            mTriggered[i] = isWorking(iEditLive) && isTriggered(iEditLive);
+            if (mTriggered[i]) {
+                iEditLive.beforeTextChanged(s, start, before, after);
+            } else if (iEditLive instanceof EditLive) {
+                ((EditLive) iEditLive).reset();
+            }
         }
     }
 
@@ -77,9 +168,40 @@ public class LivePrepare {
         if (!isConfig) {
             return;
         }
-        for (IEditLive iEditLive : mEditControllerList) {
-            iEditLive.onTextChanged(s, start, before, after);
+        mParagraphIndex.onTextChanged(s, start, before, after);
+        if (!isStyling) {
+            mFenceDirty |= mParagraphIndex.isFenceChanged();
+            mAllDirty |= mParagraphIndex.isRebuilt();
+        }
+        mTextChangeEvent.setOnTextChanged(s, start, before, after);
+        final int size = mEditControllerList.size();
+        for (int i = 0; i < size; i++) {
+            IEditLive iEditLive = mEditControllerList.get(i);
+            //the controller triggered by the deleted text works for the added text too
+            if (mTriggered[i] || (isWorking(iEditLive) && isTriggered(iEditLive))) {
+                iEditLive.onTextChanged(s, start, before, after);
+            }
         }
+        if (isStyling) {
+            mParagraphIndex.clean();
+        }
+    }
+
+    /**
+     * the styling controllers don't work when not styling, the list controller edits text, it always works
+     */
+    private boolean isWorking(IEditLive iEditLive) {
+        return isStyling || iEditLive instanceof ListLive;
     }
 
+    /**
+     * the list controller keeps the list spans up to date with every change, it isn't routed by keys
+     */
+    private boolean isTriggered(IEditLive iEditLive) {
+        if (!(iEditLive instanceof EditLive) || iEditLive instanceof ListLive) {
+            return true;
+        }
+        EditLive editLive = (EditLive) iEditLive;
+        return mTextChangeEvent.isTriggered(editLive.getTriggerKeys(), editLive.getTriggerLinePrefixes());
+    }
 }
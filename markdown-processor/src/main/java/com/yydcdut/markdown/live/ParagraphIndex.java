@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import android.support.annotation.NonNull;
+import android.util.Pair;
+
+import com.yydcdut.markdown.syntax.SyntaxKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The index of paragraphs(lines) in EditText, and which of them are dirty.
+ * <p>
+ * The start positions of paragraphs are updated on each text change, the paragraphs touched by the change are marked dirty,
+ * so the edit controllers only parse the dirty paragraphs instead of the whole content.
+ * When a code block key("```") is added or removed, the paragraphs until the next code block key are dirty too.
+ */
+class ParagraphIndex {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] mStarts = new int[DEFAULT_CAPACITY];
+    private boolean[] mDirty = new boolean[DEFAULT_CAPACITY];
+    private int mCount = 1;
+    private int mLength;
+
+    private boolean mFenceBefore;
+    private boolean mFenceChanged;
+    private boolean mRebuilt;
+
+    /**
+     * invoke when beforeTextChanged, remember whether the paragraphs to be changed have code block key
+     *
+     * @param s      the content before changing
+     * @param start  the start position of changing
+     * @param before the length of text to be replaced
+     * @param after  the length of new text
+     */
+    void beforeTextChanged(@NonNull CharSequence s, int start, int before, int after) {
+        if (start < 0 || start + before > s.length()) {
+            mFenceBefore = false;
+            return;
+        }
+        mFenceBefore = hasFence(s, findParagraphStart(s, start), findParagraphEnd(s, start + before));
+    }
+
+    /**
+     * invoke when onTextChanged, update the start positions of paragraphs and mark the changed paragraphs dirty
+     *
+     * @param s      the content after changing
+     * @param start  the start position of changing
+     * @param before the length of text replaced
+     * @param after  the length of new text
+     */
+    void onTextChanged(@NonNull CharSequence s, int start, int before, int after) {
+        if (mLength - before + after != s.length() || start < 0 || start + after > s.length()) {
+            //the changes happened without notification, such as the first format, so index again
+            rebuild(s);
+            mRebuilt = true;
+        } else {
+            update(s, start, before, after);
+        }
+        mLength = s.length();
+        int first = getParagraph(start);
+        int last = getParagraph(start + after);
+        markDirty(first, last);
+        mFenceChanged = mFenceBefore || hasFence(s, mStarts[first], getParagraphEnd(s, last));
+        mFenceBefore = false;
+        if (mFenceChanged) {
+            //the paragraphs until the next code block key may go in or out of code block
+            int paragraph = last + 1;
+            while (paragraph < mCount && !hasFence(s, mStarts[paragraph], getParagraphEnd(s, paragraph))) {
+                paragraph++;
+            }
+            markDirty(last + 1, Math.min(paragraph, mCount - 1));
+        }
+    }
+
+    /**
+     * get the ranges of dirty paragraphs, the adjacent dirty paragraphs are in one range
+     *
+     * @param s the content
+     * @return the ranges, first is the start position and second is the end position(excluding '\n')
+     */
+    @NonNull
+    List<Pair<Integer, Integer>> getDirtyRanges(@NonNull CharSequence s) {
+        List<Pair<Integer, Integer>> list = new ArrayList<>();
+        int paragraph = 0;
+        while (paragraph < mCount) {
+            if (!mDirty[paragraph]) {
+                paragraph++;
+                continue;
+            }
+            int last = paragraph;
+            while (last + 1 < mCount && mDirty[last + 1]) {
+                last++;
+            }
+            final int length = s.length();
+            list.add(new Pair<>(Math.min(mStarts[paragraph], length), Math.min(getParagraphEnd(s, last), length)));
+            paragraph = last + 1;
+        }
+        return list;
+    }
+
+    /**
+     * @return the count of paragraphs
+     */
+    int getParagraphCount() {
+        return mCount;
+    }
+
+    /**
+     * @param paragraph the index of paragraph
+     * @return the start position of paragraph
+     */
+    int getParagraphStart(int paragraph) {
+        return mStarts[paragraph];
+    }
+
+    /**
+     * whether code block key is added or removed in the last change
+     *
+     * @return true if the code block key is changed
+     */
+    boolean isFenceChanged() {
+        return mFenceChanged;
+    }
+
+    /**
+     * whether the index has been built again since last {@link #clean()}, the dirty paragraphs before are lost
+     *
+     * @return true if built again
+     */
+    boolean isRebuilt() {
+        return mRebuilt;
+    }
+
+    /**
+     * index the content again, no paragraph is dirty
+     *
+     * @param s the content
+     */
+    void reset(@NonNull CharSequence s) {
+        rebuild(s);
+        mLength = s.length();
+        mFenceBefore = false;
+        mFenceChanged = false;
+        mRebuilt = false;
+    }
+
+    /**
+     * the dirty paragraphs have been parsed
+     */
+    void clean() {
+        for (int i = 0; i < mCount; i++) {
+            mDirty[i] = false;
+        }
+        mFenceChanged = false;
+        mRebuilt = false;
+    }
+
+    private void update(@NonNull CharSequence s, int start, int before, int after) {
+        final int delta = after - before;
+        //remove the paragraphs whose '\n' before are replaced
+        int from = getParagraph(start) + 1;
+        int to = from;
+        while (to < mCount && mStarts[to] <= start + before) {
+            to++;
+        }
+        //the paragraphs whose '\n' before are added
+        int added = 0;
+        for (int i = start; i < start + after; i++) {
+            if (s.charAt(i) == '\n') {
+                added++;
+            }
+        }
+        final int newCount = mCount - (to - from) + added;
+        ensureCapacity(newCount);
+        System.arraycopy(mStarts, to, mStarts, from + added, mCount - to);
+        System.arraycopy(mDirty, to, mDirty, from + added, mCount - to);
+        for (int i = from + added; i < newCount; i++) {
+            mStarts[i] += delta;
+        }
+        int paragraph = from;
+        for (int i = start; i < start + after; i++) {
+            if (s.charAt(i) == '\n') {
+                mStarts[paragraph] = i + 1;
+                mDirty[paragraph] = false;
+                paragraph++;
+            }
+        }
+        mCount = newCount;
+    }
+
+    private void rebuild(@NonNull CharSequence s) {
+        final int length = s.length();
+        mCount = 1;
+        mStarts[0] = 0;
+        mDirty[0] = false;
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) == '\n') {
+                ensureCapacity(mCount + 1);
+                mStarts[mCount] = i + 1;
+                mDirty[mCount] = false;
+                mCount++;
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mStarts.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, mStarts.length * 2);
+        int[] starts = new int[newCapacity];
+        boolean[] dirty = new boolean[newCapacity];
+        System.arraycopy(mStarts, 0, starts, 0, mCount);
+        System.arraycopy(mDirty, 0, dirty, 0, mCount);
+        mStarts = starts;
+        mDirty = dirty;
+    }
+
+    private void markDirty(int first, int last) {
+        for (int i = first; i <= last; i++) {
+            mDirty[i] = true;
+        }
+    }
+
+    /**
+     * binary search the paragraph where the position is
+     */
+    private int getParagraph(int position) {
+        int low = 0;
+        int high = mCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (mStarts[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int getParagraphEnd(@NonNull CharSequence s, int paragraph) {
+        return paragraph + 1 < mCount ? mStarts[paragraph + 1] - 1 : s.length();
+    }
+
+    private static int findParagraphStart(@NonNull CharSequence s, int position) {
+        int i = position;
+        while (i > 0 && s.charAt(i - 1) != '\n') {
+            i--;
+        }
+        return i;
+    }
+
+    private static int findParagraphEnd(@NonNull CharSequence s, int position) {
+        final int length = s.length();
+        int i = position;
+        while (i < length && s.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean hasFence(@NonNull CharSequence s, int start, int end) {
+        final int keyLength = SyntaxKey.KEY_CODE_BLOCK.length();
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == SyntaxKey.KEY_CODE_BLOCK_SINGLE.charAt(0)) {
+                if (++count >= keyLength) {
+                    return true;
+                }
+            } else {
+                count = 0;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import android.support.annotation.NonNull;
+import android.text.Editable;
+import android.text.NoCopySpan;
+import android.text.SpanWatcher;
+import android.text.Spannable;
+import android.text.Spanned;
+import android.text.TextWatcher;
+
+import com.yydcdut.markdown.span.MDHorizontalRulesSpan;
+import com.yydcdut.markdown.span.MDImageSpan;
+import com.yydcdut.markdown.span.MDOrderListSpan;
+import com.yydcdut.markdown.span.MDUnOrderListSpan;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The index of markdown spans in the text, one interval tree for each category of span.
+ * <p>
+ * It is attached to the text as a {@link SpanWatcher}, so it is updated when the spans are added, removed or moved.
+ * The spans at a position or in a range are found in O(log n) instead of walking all the spans of the text.
+ * <p>
+ * It is a {@link TextWatcher} of the text too. {@link android.text.SpannableStringBuilder} notifies the span watchers
+ * of the spans moved by a text change only after all text watchers, so the index moves the spans itself in
+ * {@link #onTextChanged(CharSequence, int, int, int)}, which is invoked before the text watchers of EditText.
+ * The spans after the change are moved by a lazily propagated offset in O(log n), and the notifications
+ * of them afterwards only check the positions.
+ * <p>
+ * It is a {@link NoCopySpan}, the copies of the text don't have it.
+ */
+public class SpanIndex implements SpanWatcher, TextWatcher, NoCopySpan {
+    private static final Class<?>[] CATEGORIES = {
+            MDHorizontalRulesSpan.class,
+            MDOrderListSpan.class,
+            MDUnOrderListSpan.class,
+            MDImageSpan.class,
+    };
+    /**
+     * higher than the priority of the text watcher of TextView, so the spans are moved before the text watchers of EditText are invoked
+     */
+    private static final int PRIORITY = 200;
+
+    private final IntervalTree[] mTrees;
+    private Spannable mText;
+
+    public SpanIndex() {
+        mTrees = new IntervalTree[CATEGORIES.length];
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            mTrees[i] = new IntervalTree();
+        }
+    }
+
+    /**
+     * attach to the text, the spans in the text are indexed
+     *
+     * @param text the text
+     */
+    public void attach(@NonNull Spannable text) {
+        if (mText == text) {
+            return;
+        }
+        if (mText != null) {
+            mText.removeSpan(this);
+        }
+        mText = text;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            mTrees[i].clear();
+            for (Object span : text.getSpans(0, text.length(), CATEGORIES[i])) {
+                mTrees[i].insert(span, text.getSpanStart(span), text.getSpanEnd(span));
+            }
+        }
+        text.setSpan(this, 0, text.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE | (PRIORITY << Spanned.SPAN_PRIORITY_SHIFT));
+    }
+
+    /**
+     * the same as {@link Spanned#getSpans(int, int, Class)}, the spans are from the index if the text is attached and the type is indexed
+     *
+     * @param text  the text
+     * @param start the start position
+     * @param end   the end position
+     * @param type  the class of spans
+     * @param <T>   the type of spans
+     * @return the spans in the order they are added to the text, the same as {@link Spanned#getSpans(int, int, Class)}
+     */
+    @NonNull
+    public <T> T[] getSpans(@NonNull Spanned text, int start, int end, @NonNull Class<T> type) {
+        final int category = getCategory(type);
+        if (category < 0 || text != mText) {
+            return text.getSpans(start, end, type);
+        }
+        List<Node> nodes = mTrees[category].query(start, end);
+        @SuppressWarnings("unchecked")
+        T[] spans = (T[]) Array.newInstance(type, nodes.size());
+        for (int i = 0; i < spans.length; i++) {
+            spans[i] = type.cast(nodes.get(i).span);
+        }
+        return spans;
+    }
+
+    /**
+     * the count of changes of spans of the type, it's changed when the span is added or removed
+     *
+     * @param type the class of spans
+     * @return the count, -1 if the type isn't indexed
+     */
+    public int getModCount(@NonNull Class<?> type) {
+        final int category = getCategory(type);
+        return category < 0 ? -1 : mTrees[category].mModCount;
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        if (s != mText) {
+            return;
+        }
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            mTrees[i].onTextChanged(mText, start, before, count);
+        }
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+    }
+
+    @Override
+    public void onSpanAdded(Spannable text, Object what, int start, int end) {
+        if (text != mText) {
+            return;
+        }
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (CATEGORIES[i].isInstance(what)) {
+                mTrees[i].insert(what, start, end);
+            }
+        }
+    }
+
+    @Override
+    public void onSpanRemoved(Spannable text, Object what, int start, int end) {
+        if (text != mText) {
+            return;
+        }
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (CATEGORIES[i].isInstance(what)) {
+                mTrees[i].remove(what);
+            }
+        }
+    }
+
+    @Override
+    public void onSpanChanged(Spannable text, Object what, int ostart, int oend, int nstart, int nend) {
+        if (text != mText) {
+            return;
+        }
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (CATEGORIES[i].isInstance(what)) {
+                mTrees[i].move(what, nstart, nend);
+            }
+        }
+    }
+
+    private static int getCategory(Class<?> type) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (CATEGORIES[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * treap ordered by the start position of span, each node keeps the max end position of its subtree,
+     * the offset of a node is added to the positions of its children lazily
+     */
+    private static class IntervalTree {
+        private static final Comparator<Node> INSERTION_ORDER = new Comparator<Node>() {
+            @Override
+            public int compare(Node o1, Node o2) {
+                return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+            }
+        };
+        private final IdentityHashMap<Object, Node> mNodes = new IdentityHashMap<>();
+        private final Random mRandom = new Random();
+        private final List<Node> mChangedNodes = new ArrayList<>();
+        private final Node mSplitKey = new Node(null, 0, 0, Integer.MIN_VALUE, 0);
+        private Node mRoot;
+        private int mSequence;
+        private int mModCount;
+
+        void clear() {
+            mNodes.clear();
+            mRoot = null;
+            mModCount++;
+        }
+
+        void insert(Object span, int start, int end) {
+            if (mNodes.containsKey(span)) {
+                remove(span);
+            }
+            Node node = new Node(span, start, end, mSequence++, mRandom.nextInt());
+            mNodes.put(span, node);
+            insert(node);
+            mModCount++;
+        }
+
+        /**
+         * the span is moved, it isn't counted as a change of spans.
+         * The span moved by text changing has been moved in {@link #onTextChanged(Spanned, int, int, int)},
+         * so only the position is checked.
+         */
+        void move(Object span, int start, int end) {
+            Node node = mNodes.get(span);
+            if (node == null) {
+                final int modCount = mModCount;
+                insert(span, start, end);
+                mModCount = modCount;
+                return;
+            }
+            pushPath(node);
+            if (node.start == start && node.end == end) {
+                return;
+            }
+            mRoot = remove(mRoot, node);
+            node.reset(start, end);
+            insert(node);
+        }
+
+        void remove(Object span) {
+            Node node = mNodes.remove(span);
+            if (node == null) {
+                return;
+            }
+            pushPath(node);
+            mRoot = remove(mRoot, node);
+            setRoot(mRoot);
+            mModCount++;
+        }
+
+        /**
+         * move the spans by the text change, the spans after the changed text are moved by the change of length,
+         * the spans touching the changed text are moved to their positions in the text
+         */
+        void onTextChanged(Spanned text, int start, int before, int after) {
+            final int delta = after - before;
+            final int oldEnd = start + before;
+            collect(mRoot, start, oldEnd, mChangedNodes);
+            for (int i = 0; i < mChangedNodes.size(); i++) {
+                Node node = mChangedNodes.get(i);
+                pushPath(node);
+                mRoot = remove(mRoot, node);
+                setRoot(mRoot);
+            }
+            if (delta != 0 && mRoot != null) {
+                mSplitKey.start = oldEnd + 1;
+                Node[] split = split(mRoot, mSplitKey);
+                if (split[1] != null) {
+                    split[1].offset(delta);
+                }
+                setRoot(merge(split[0], split[1]));
+            }
+            for (int i = 0; i < mChangedNodes.size(); i++) {
+                Node node = mChangedNodes.get(i);
+                int spanStart = text.getSpanStart(node.span);
+                if (spanStart < 0) {
+                    mNodes.remove(node.span);
+                    mModCount++;
+                    continue;
+                }
+                node.reset(spanStart, text.getSpanEnd(node.span));
+                insert(node);
+            }
+            mChangedNodes.clear();
+        }
+
+        /**
+         * the spans overlapping the range, the same rule and order as {@link Spanned#getSpans(int, int, Class)}
+         */
+        List<Node> query(int start, int end) {
+            List<Node> out = new ArrayList<>();
+            query(mRoot, start, end, out);
+            if (out.size() > 1) {
+                Collections.sort(out, INSERTION_ORDER);
+            }
+            return out;
+        }
+
+        private void insert(Node node) {
+            Node[] split = split(mRoot, node);
+            setRoot(merge(merge(split[0], node), split[1]));
+        }
+
+        private void setRoot(Node root) {
+            mRoot = root;
+            if (root != null) {
+                root.parent = null;
+            }
+        }
+
+        private static void query(Node node, int start, int end, List<Node> out) {
+            if (node == null || node.maxEnd < start) {
+                return;
+            }
+            node.push();
+            query(node.left, start, end, out);
+            if (node.start > end) {
+                return;
+            }
+            if (node.end >= start
+                    && (node.start == node.end || start == end || (node.start != end && node.end != start))) {
+                out.add(node);
+            }
+            query(node.right, start, end, out);
+        }
+
+        /**
+         * the nodes touching the range, including the ends
+         */
+        private static void collect(Node node, int start, int end, List<Node> out) {
+            if (node == null || node.maxEnd < start) {
+                return;
+            }
+            node.push();
+            collect(node.left, start, end, out);
+            if (node.start > end) {
+                return;
+            }
+            if (node.end >= start) {
+                out.add(node);
+            }
+            collect(node.right, start, end, out);
+        }
+
+        /**
+         * push the offsets of the ancestors down to the node, so the positions of the node are in the text
+         */
+        private static void pushPath(Node node) {
+            if (node.parent != null) {
+                pushPath(node.parent);
+                node.parent.push();
+            }
+        }
+
+        /**
+         * split the tree into the nodes less than key and the others
+         */
+        private static Node[] split(Node node, Node key) {
+            if (node == null) {
+                return new Node[2];
+            }
+            node.push();
+            if (node.compareTo(key) < 0) {
+                Node[] split = split(node.right, key);
+                node.right = split[0];
+                node.update();
+                split[0] = node;
+                return split;
+            } else {
+                Node[] split = split(node.left, key);
+                node.left = split[1];
+                node.update();
+                split[1] = node;
+                return split;
+            }
+        }
+
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.push();
+                left.right = merge(left.right, right);
+                left.update();
+                return left;
+            } else {
+                right.push();
+                right.left = merge(left, right.left);
+                right.update();
+                return right;
+            }
+        }
+
+        private static Node remove(Node node, Node key) {
+            if (node == null) {
+                return null;
+            }
+            node.push();
+            if (node == key) {
+                Node merged = merge(node.left, node.right);
+                node.left = null;
+                node.right = null;
+                return merged;
+            }
+            if (node.compareTo(key) > 0) {
+                node.left = remove(node.left, key);
+            } else {
+                node.right = remove(node.right, key);
+            }
+            node.update();
+            return node;
+        }
+    }
+
+    private static class Node {
+        final Object span;
+        final int sequence;
+        final int priority;
+        int start;
+        int end;
+        int maxEnd;
+        /**
+         * the offset to add to the positions of children
+         */
+        int offset;
+        Node left;
+        Node right;
+        Node parent;
+
+        Node(Object span, int start, int end, int sequence, int priority) {
+            this.span = span;
+            this.sequence = sequence;
+            this.priority = priority;
+            reset(start, end);
+        }
+
+        /**
+         * set the positions of the node removed from tree
+         */
+        void reset(int start, int end) {
+            this.start = start;
+            this.end = end;
+            maxEnd = end;
+            offset = 0;
+            left = null;
+            right = null;
+            parent = null;
+        }
+
+        /**
+         * move the subtree
+         */
+        void offset(int delta) {
+            start += delta;
+            end += delta;
+            maxEnd += delta;
+            offset += delta;
+        }
+
+        /**
+         * add the offset to the children
+         */
+        void push() {
+            if (offset == 0) {
+                return;
+            }
+            if (left != null) {
+                left.offset(offset);
+            }
+            if (right != null) {
+                right.offset(offset);
+            }
+            offset = 0;
+        }
+
+        /**
+         * the offset has been pushed
+         */
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                left.parent = this;
+                if (left.maxEnd > maxEnd) {
+                    maxEnd = left.maxEnd;
+                }
+            }
+            if (right != null) {
+                right.parent = this;
+                if (right.maxEnd > maxEnd) {
+                    maxEnd = right.maxEnd;
+                }
+            }
+        }
+
+        int compareTo(Node other) {
+            if (start != other.start) {
+                return start < other.start ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
@@ -15,17 +15,14 @@
  */
 package com.yydcdut.markdown.live;
 
+import android.support.annotation.Nullable;
 import android.text.Editable;
 import android.text.style.StyleSpan;
 
+import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.syntax.edit.EditFactory;
-import com.yydcdut.markdown.utils.SyntaxUtils;
-import com.yydcdut.markdown.utils.TextHelper;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * RxMDEditText, bold and italic controller.
@@ -33,6 +30,22 @@ import java.util.List;
  * Created by yuyidong on 16/7/21.
  */
 class StyleLive extends EditLive {
+    private Syntax mBoldSyntax;
+    private Syntax mItalicSyntax;
+
+    @Override
+    public void setMarkdownConfiguration(@Nullable MarkdownConfiguration markdownConfiguration) {
+        super.setMarkdownConfiguration(markdownConfiguration);
+        if (markdownConfiguration != null) {
+            mBoldSyntax = EditFactory.create().getBoldSyntax(markdownConfiguration);
+            mItalicSyntax = EditFactory.create().getItalicSyntax(markdownConfiguration);
+        }
+    }
+
+    @Override
+    String getTriggerKeys() {
+        return SyntaxKey.KEY_BOLD_ASTERISK_SINGLE + SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE;
+    }
 
     @Override
     public void beforeTextChanged(CharSequence s, int start, int before, int after) {
@@ -40,18 +53,9 @@ class StyleLive extends EditLive {
         if (before == 0 || mMarkdownConfiguration == null) {
             return;
         }
-        String deleteString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + before, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
-        if (start + before + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start + before, s), TextHelper.safePosition(start + before + 1, s)).toString();
-        }
         //*11*ss** --> **ss**
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE, deleteString, beforeString, afterString)
-                || TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE, deleteString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE.charAt(0))
+                || mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE.charAt(0))) {
             shouldFormat = true;
         }
     }
@@ -68,29 +72,14 @@ class StyleLive extends EditLive {
         if (after == 0) {
             return;
         }
-        String addString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + after, s)).toString();
-        String beforeString = null;
-        String afterString = null;
-        if (start + 1 <= s.length()) {
-            afterString = s.subSequence(TextHelper.safePosition(start, s), TextHelper.safePosition(start + 1, s)).toString();
-        }
-        if (start > 0) {
-            beforeString = s.subSequence(TextHelper.safePosition(start - 1, s), TextHelper.safePosition(start, s)).toString();
-        }
         //**ss** --> *11*ss**
-        if (TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE, addString, beforeString, afterString)
-                || TextHelper.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE, addString, beforeString, afterString)) {
+        if (mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_ASTERISK_SINGLE.charAt(0))
+                || mTextChangeEvent.isNeedFormat(SyntaxKey.KEY_BOLD_UNDERLINE_SINGLE.charAt(0))) {
             format((Editable) s, start);
         }
     }
 
     private void format(Editable editable, int start) {
-        SyntaxUtils.removeSpans(editable, start, StyleSpan.class);
-        List<EditToken> editTokenList = new ArrayList<>();
-        Syntax syntax = EditFactory.create().getBoldSyntax(mMarkdownConfiguration);
-        editTokenList.addAll(SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start));
-        syntax = EditFactory.create().getItalicSyntax(mMarkdownConfiguration);
-        editTokenList.addAll(SyntaxUtils.getMatchedEditTokenList(editable, syntax.format(editable), start));
-        SyntaxUtils.setSpans(editable, editTokenList);
+        formatDirty(editable, start, StyleSpan.class, mBoldSyntax, mItalicSyntax);
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import android.support.annotation.NonNull;
+
+/**
+ * One text change, shared by all edit controllers.
+ * <p>
+ * It is computed once for beforeTextChanged(the deleted text) and once for onTextChanged(the added text),
+ * the controllers read the characters from it instead of copying the text.
+ * The ASCII characters in the changed text are remembered in a bit mask, so checking a key costs nothing.
+ */
+class TextChangeEvent {
+    private CharSequence mText;
+    private int mStart;
+    private int mBefore;
+    private int mAfter;
+    private boolean mOnChanged;
+
+    private long mCharMaskLow;
+    private long mCharMaskHigh;
+    private boolean mHasNonAscii;
+    private int mLineFirstChar;
+
+    /**
+     * set the event of beforeTextChanged, the changed text is the text to be deleted
+     */
+    void setBeforeTextChanged(@NonNull CharSequence s, int start, int before, int after) {
+        set(s, start, before, after, false);
+    }
+
+    /**
+     * set the event of onTextChanged, the changed text is the text added
+     */
+    void setOnTextChanged(@NonNull CharSequence s, int start, int before, int after) {
+        set(s, start, before, after, true);
+    }
+
+    private void set(@NonNull CharSequence s, int start, int before, int after, boolean onChanged) {
+        mText = s;
+        mStart = start;
+        mBefore = before;
+        mAfter = after;
+        mOnChanged = onChanged;
+        mCharMaskLow = 0;
+        mCharMaskHigh = 0;
+        mHasNonAscii = false;
+        mLineFirstChar = -1;
+        final int end = Math.min(getChangedEnd(), s.length());
+        for (int i = Math.max(start, 0); i < end; i++) {
+            char c = s.charAt(i);
+            if (c < 64) {
+                mCharMaskLow |= 1L << c;
+            } else if (c < 128) {
+                mCharMaskHigh |= 1L << (c - 64);
+            } else {
+                mHasNonAscii = true;
+            }
+        }
+    }
+
+    @NonNull
+    CharSequence getText() {
+        return mText;
+    }
+
+    int getStart() {
+        return mStart;
+    }
+
+    int getBefore() {
+        return mBefore;
+    }
+
+    int getAfter() {
+        return mAfter;
+    }
+
+    /**
+     * the length of changed text, the deleted text for beforeTextChanged and the added text for onTextChanged
+     */
+    int getChangedLength() {
+        return mOnChanged ? mAfter : mBefore;
+    }
+
+    private int getChangedEnd() {
+        return mStart + getChangedLength();
+    }
+
+    /**
+     * whether the changed text contains the character
+     */
+    boolean contains(char c) {
+        if (c < 64) {
+            return (mCharMaskLow & (1L << c)) != 0;
+        } else if (c < 128) {
+            return (mCharMaskHigh & (1L << (c - 64))) != 0;
+        }
+        if (!mHasNonAscii) {
+            return false;
+        }
+        final int end = Math.min(getChangedEnd(), mText.length());
+        for (int i = mStart; i < end; i++) {
+            if (mText.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * whether the changed text contains the string
+     */
+    boolean contains(@NonNull String key) {
+        if (key.length() == 0 || !contains(key.charAt(0))) {
+            return false;
+        }
+        final int end = Math.min(getChangedEnd(), mText.length()) - key.length();
+        for (int i = mStart; i <= end; i++) {
+            boolean match = true;
+            for (int j = 0; j < key.length() && match; j++) {
+                match = mText.charAt(i + j) == key.charAt(j);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * the character before the changed text, 0 if none
+     */
+    char getCharBefore() {
+        return mStart > 0 && mStart <= mText.length() ? mText.charAt(mStart - 1) : 0;
+    }
+
+    /**
+     * the character after the changed text for beforeTextChanged, the first added character for onTextChanged, 0 if none
+     */
+    char getCharAfter() {
+        int position = mOnChanged ? mStart : mStart + mBefore;
+        return position >= 0 && position < mText.length() ? mText.charAt(position) : 0;
+    }
+
+    /**
+     * the first character of the line where the change starts, 0 if the line is empty
+     */
+    char getLineFirstChar() {
+        if (mLineFirstChar < 0) {
+            final int length = mText.length();
+            int position = Math.min(Math.max(mStart, 0), length);
+            while (position > 0 && mText.charAt(position - 1) != '\n') {
+                position--;
+            }
+            mLineFirstChar = position < length ? mText.charAt(position) : 0;
+        }
+        return (char) mLineFirstChar;
+    }
+
+    /**
+     * whether the key is in the changed text or next to the changed text
+     *
+     * @param key the key
+     * @return true if it is
+     */
+    boolean isNeedFormat(char key) {
+        return contains(key) || getCharBefore() == key || getCharAfter() == key;
+    }
+
+    /**
+     * whether the controller with the keys and line prefixes should work for this change
+     *
+     * @param keys         the keys in or next to the changed text
+     * @param linePrefixes the first characters of the changed line
+     * @return true if one of them matches
+     */
+    boolean isTriggered(@NonNull String keys, @NonNull String linePrefixes) {
+        for (int i = 0; i < keys.length(); i++) {
+            if (isNeedFormat(keys.charAt(i))) {
+                return true;
+            }
+        }
+        if (linePrefixes.length() > 0) {
+            char first = getLineFirstChar();
+            if (first != 0 && linePrefixes.indexOf(first) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
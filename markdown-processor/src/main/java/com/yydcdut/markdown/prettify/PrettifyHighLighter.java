@@ -18,18 +18,27 @@ package com.yydcdut.markdown.prettify;
 import android.support.annotation.NonNull;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
+import android.text.TextUtils;
 import android.text.style.ForegroundColorSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.callback.OnCodeHighlightFallbackCallback;
 import com.yydcdut.markdown.theme.Theme;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import prettify.PrettifyParser;
-import syntaxhighlight.ParseResult;
 import syntaxhighlight.Parser;
+import syntaxhighlight.TokenStream;
 
 /**
  * high light
@@ -37,8 +46,24 @@ import syntaxhighlight.Parser;
  * Created by yuyidong on 2017/5/26.
  */
 public class PrettifyHighLighter {
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 30;
+
     private Map<String, Integer> mColorMap;
+    /**
+     * the colors indexed by the style id of {@link TokenStream}
+     */
+    private int[] mColors = new int[0];
     private Parser mParser;
+    private int mThreads;
+    private ThreadPoolExecutor mExecutor;
+
+    private MarkdownConfiguration mMarkdownConfiguration;
+    private long mMaxTime;
+    /**
+     * the time of highlighting the current document in nanoseconds, it's the time of this thread,
+     * in parallel it's the time waiting for the parsing in the executor and applying the tokens
+     */
+    private long mElapsedTime;
 
     /**
      * Constructor
@@ -48,6 +73,25 @@ public class PrettifyHighLighter {
     public PrettifyHighLighter(@NonNull MarkdownConfiguration markdownConfiguration) {
         mColorMap = buildColorsMap(markdownConfiguration.getTheme());
         mParser = new PrettifyParser();
+        mThreads = markdownConfiguration.getCodeHighlightThreads();
+        mMarkdownConfiguration = markdownConfiguration;
+        mMaxTime = TimeUnit.MILLISECONDS.toNanos(markdownConfiguration.getCodeHighlightMaxTime());
+    }
+
+    /**
+     * start highlighting the code blocks of a document, the max time is for a document
+     */
+    public void resetBudget() {
+        mElapsedTime = 0;
+    }
+
+    /**
+     * whether the code blocks are highlighted in parallel, see {@link #parseAsync(String, String)}
+     *
+     * @return true if they are
+     */
+    public boolean isParallel() {
+        return mThreads > 1;
     }
 
     /**
@@ -60,17 +104,167 @@ public class PrettifyHighLighter {
      * @return SpannableStringBuilder
      */
     public SpannableStringBuilder highLight(String language, SpannableStringBuilder sourceCode, int start, int end) {
-        List<ParseResult> results = mParser.parse(language, sourceCode.toString().substring(start, end));
-        for (ParseResult result : results) {
-            String type = result.getStyleKeys().get(0);
-            sourceCode.setSpan(new ForegroundColorSpan(getColor(type)), start + result.getOffset(), start + result.getOffset() + result.getLength(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        int reason = getFallbackReason(language, end - start);
+        if (reason != 0) {
+            return fallback(language, sourceCode, start, end, reason);
+        }
+        long startTime = System.nanoTime();
+        parseAndApply(language, sourceCode, start, end);
+        mElapsedTime += System.nanoTime() - startTime;
+        return sourceCode;
+    }
+
+    /**
+     * parse the code in the executor, the threads are bounded by {@link MarkdownConfiguration#getCodeHighlightThreads()}
+     *
+     * @param language programing language
+     * @param code     the code
+     * @return the tokens, highlight with {@link #highLight(String, SpannableStringBuilder, int, int, Future)},
+     * null if the code is longer than the max length, highlight with {@link #highLight(String, SpannableStringBuilder, int, int)}
+     */
+    public Future<TokenStream> parseAsync(final String language, final String code) {
+        if (getFallbackReason(language, code.length()) == OnCodeHighlightFallbackCallback.REASON_BLOCK_LENGTH) {
+            return null;
+        }
+        return getExecutor().submit(new Callable<TokenStream>() {
+            @Override
+            public TokenStream call() throws Exception {
+                TokenStream tokens = new TokenStream();
+                mParser.parse(language, code, tokens);
+                return tokens;
+            }
+        });
+    }
+
+    /**
+     * high light with the tokens parsed by {@link #parseAsync(String, String)}, it waits for the parsing
+     *
+     * @param language   programing language
+     * @param sourceCode the content
+     * @param start      start position of the code
+     * @param end        end position of the code
+     * @param tokens     the parsing
+     * @return SpannableStringBuilder
+     */
+    public SpannableStringBuilder highLight(String language, SpannableStringBuilder sourceCode, int start, int end, Future<TokenStream> tokens) {
+        if (mMaxTime > 0 && mElapsedTime >= mMaxTime) {
+            tokens.cancel(true);
+            return fallback(language, sourceCode, start, end, OnCodeHighlightFallbackCallback.REASON_DOCUMENT_TIME);
+        }
+        long startTime = System.nanoTime();
+        try {
+            applyTokens(sourceCode, start, mMaxTime > 0 ? tokens.get(mMaxTime - mElapsedTime, TimeUnit.NANOSECONDS) : tokens.get());
+            mElapsedTime += System.nanoTime() - startTime;
+            return sourceCode;
+        } catch (TimeoutException e) {
+            tokens.cancel(true);
+            mElapsedTime += System.nanoTime() - startTime;
+            return fallback(language, sourceCode, start, end, OnCodeHighlightFallbackCallback.REASON_DOCUMENT_TIME);
+        } catch (InterruptedException e) {
+            //the parsing in this thread stops at once, the code is in plain text color
+            tokens.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            //parse again in this thread, the same as highlighting one by one
+        }
+        return highLight(language, sourceCode, start, end);
+    }
+
+    /**
+     * the reason of falling back, 0 if the code block is in the budget
+     */
+    private int getFallbackReason(String language, int length) {
+        int maxLength = mMarkdownConfiguration.getCodeHighlightMaxLength();
+        if (maxLength > 0 && length * mMarkdownConfiguration.getCodeHighlightLanguageWeight(language) > maxLength) {
+            return OnCodeHighlightFallbackCallback.REASON_BLOCK_LENGTH;
+        }
+        if (mMaxTime > 0 && mElapsedTime >= mMaxTime) {
+            return OnCodeHighlightFallbackCallback.REASON_DOCUMENT_TIME;
+        }
+        return 0;
+    }
+
+    /**
+     * highlight the first lines of code block, the others are in plain text color
+     */
+    private SpannableStringBuilder fallback(String language, SpannableStringBuilder sourceCode, int start, int end, int reason) {
+        //the first line is "```java"
+        int highlightEnd = TextUtils.indexOf(sourceCode, '\n', start, end);
+        int lines = 0;
+        while (highlightEnd >= 0 && highlightEnd + 1 < end && lines < mMarkdownConfiguration.getCodeHighlightFallbackLines()) {
+            int next = TextUtils.indexOf(sourceCode, '\n', highlightEnd + 1, end);
+            highlightEnd = next < 0 ? end : next;
+            lines++;
+        }
+        int plainStart = start;
+        if (lines > 0) {
+            plainStart = Math.min(highlightEnd + 1, end);
+            long startTime = System.nanoTime();
+            parseAndApply(language, sourceCode, start, plainStart);
+            mElapsedTime += System.nanoTime() - startTime;
         }
+        if (plainStart < end) {
+            sourceCode.setSpan(new ForegroundColorSpan(mColorMap.get(Theme.CODE_PLN)), plainStart, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+        OnCodeHighlightFallbackCallback callback = mMarkdownConfiguration.getOnCodeHighlightFallbackCallback();
+        if (callback != null) {
+            callback.onCodeHighlightFallback(language, end - start, lines, reason);
+        }
+        return sourceCode;
+    }
+
+    private void parseAndApply(String language, SpannableStringBuilder sourceCode, int start, int end) {
+        TokenStream tokens = new TokenStream();
+        try {
+            mParser.parse(language, sourceCode.toString().substring(start, end), tokens);
+        } catch (CancellationException e) {
+            //the thread is interrupted, the code is in plain text color
+            sourceCode.setSpan(new ForegroundColorSpan(mColorMap.get(Theme.CODE_PLN)), start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            return;
+        }
+        applyTokens(sourceCode, start, tokens);
+    }
+
+    //one span for the adjacent tokens in the same color
+    private SpannableStringBuilder applyTokens(SpannableStringBuilder sourceCode, int start, TokenStream tokens) {
+        if (tokens.size() == 0) {
+            return sourceCode;
+        }
+        int runStart = tokens.getStart(0);
+        int runColor = getColor(tokens.getStyle(0));
+        for (int i = 1; i < tokens.size(); i++) {
+            int color = getColor(tokens.getStyle(i));
+            if (color != runColor) {
+                sourceCode.setSpan(new ForegroundColorSpan(runColor), start + runStart, start + tokens.getStart(i), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                runStart = tokens.getStart(i);
+                runColor = color;
+            }
+        }
+        sourceCode.setSpan(new ForegroundColorSpan(runColor), start + runStart, start + tokens.getEnd(tokens.size() - 1), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
         return sourceCode;
     }
 
-    //get the color by type
-    private int getColor(String type) {
-        return mColorMap.containsKey(type) ? mColorMap.get(type) : mColorMap.get(Theme.CODE_PLN);
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (mExecutor == null) {
+            mExecutor = new ThreadPoolExecutor(mThreads, mThreads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>());
+            //the threads are stopped when no code block to highlight, no need to shut down
+            mExecutor.allowCoreThreadTimeOut(true);
+        }
+        return mExecutor;
+    }
+
+    //get the color by style id, the array is built again when a new style is seen
+    private int getColor(int styleId) {
+        if (styleId >= mColors.length) {
+            int[] colors = new int[TokenStream.getStyleCount()];
+            for (int i = 0; i < colors.length; i++) {
+                Integer color = mColorMap.get(TokenStream.getStyleName(i));
+                colors[i] = color != null ? color : mColorMap.get(Theme.CODE_PLN);
+            }
+            mColors = colors;
+        }
+        return mColors[styleId];
     }
 
     //get the color map by Theme
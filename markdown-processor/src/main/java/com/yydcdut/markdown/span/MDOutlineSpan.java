@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.span;
+
+import android.support.annotation.NonNull;
+import android.text.Spanned;
+
+import com.yydcdut.markdown.syntax.Outline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * the outline of headers, it covers the whole content after parsing and draws nothing,
+ * so the outline goes with the parsed content wherever the content goes, such as the result of RxMarkdown.
+ */
+public class MDOutlineSpan {
+    private final List<Outline> mOutlineList;
+
+    /**
+     * Constructor
+     *
+     * @param outlineList the outline list, in the order of content
+     */
+    public MDOutlineSpan(@NonNull List<Outline> outlineList) {
+        mOutlineList = Collections.unmodifiableList(outlineList);
+    }
+
+    @NonNull
+    public List<Outline> getOutlineList() {
+        return mOutlineList;
+    }
+
+    /**
+     * get the outline of headers of the parsed content
+     *
+     * @param charSequence the content parsed by {@link com.yydcdut.markdown.syntax.text.TextFactory}
+     * @return the outline list, in the order of content, empty if the content has no outline
+     */
+    @NonNull
+    public static List<Outline> getOutline(@NonNull CharSequence charSequence) {
+        if (charSequence instanceof Spanned) {
+            MDOutlineSpan[] spans = ((Spanned) charSequence).getSpans(0, charSequence.length(), MDOutlineSpan.class);
+            if (spans.length > 0) {
+                return spans[0].getOutlineList();
+            }
+        }
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.span;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.text.Layout;
+import android.text.TextPaint;
+import android.text.style.LeadingMarginSpan;
+import android.text.style.LineBackgroundSpan;
+import android.text.style.MetricAffectingSpan;
+
+import java.util.List;
+
+/**
+ * block quote syntax span for a run of lines with the same nested number.
+ * <p>
+ * It does the work of {@link MDQuoteSpan}, {@link MDQuoteBackgroundSpan},
+ * {@link LeadingMarginSpan.Standard} and {@link android.text.style.RelativeSizeSpan} in one span.
+ */
+public class MDQuoteBlockSpan extends MetricAffectingSpan implements LeadingMarginSpan, LineBackgroundSpan {
+    private static final int STRIPE_WIDTH = 2;
+    private static final int GAP_WIDTH = 2;
+    private static final int QUOTE_WIDTH_PLUS = 2;
+    private static final int MARGIN_LEFT = 32;
+
+    private final int mColor;
+    private final int mNested;
+    private final float mRelativeSize;
+    private final List<Integer> mBgColorList;
+    private final Rect mRect = new Rect();
+
+    /**
+     * Constructor
+     *
+     * @param color        the quote line color
+     * @param nested       the nested number
+     * @param relativeSize the size relative to current text
+     * @param bgColorList  the background color list (including nest background color)
+     */
+    public MDQuoteBlockSpan(int color, int nested, float relativeSize, List<Integer> bgColorList) {
+        mColor = color;
+        mNested = nested;
+        mRelativeSize = relativeSize;
+        mBgColorList = bgColorList;
+    }
+
+    @Override
+    public int getLeadingMargin(boolean first) {
+        return STRIPE_WIDTH + GAP_WIDTH + MARGIN_LEFT;
+    }
+
+    @Override
+    public void drawLeadingMargin(Canvas c, Paint p, int x, int dir, int top, int baseline, int bottom, CharSequence text, int start, int end, boolean first, Layout layout) {
+        Paint.Style style = p.getStyle();
+        int color = p.getColor();
+        p.setStyle(Paint.Style.FILL);
+        p.setColor(mColor);
+        float length = p.measureText("  ");
+        for (int i = 1; i <= mNested; i++) {
+            int left = (int) (x + i * length);
+            c.drawRect(left, top, left + (dir + QUOTE_WIDTH_PLUS) * STRIPE_WIDTH, bottom, p);
+        }
+        p.setStyle(style);
+        p.setColor(color);
+    }
+
+    @Override
+    public void drawBackground(Canvas c, Paint p, int left, int right, int top, int baseline, int bottom, CharSequence text, int start, int end, int lnum) {
+        if (mBgColorList == null || mBgColorList.size() == 0) {
+            return;
+        }
+        float margin = p.measureText("  ");
+        int paintColor = p.getColor();
+        final int size = mBgColorList.size();
+        for (int i = 0; i < mNested; i++) {
+            p.setColor(mBgColorList.get(i >= size ? size - 1 : i));
+            mRect.set((int) (left + (i * margin)), top, (int) (i == mNested - 1 ? right : left + ((i + 1) * margin)), bottom);
+            c.drawRect(mRect, p);
+        }
+        p.setColor(paintColor);
+    }
+
+    @Override
+    public void updateMeasureState(TextPaint p) {
+        if (mRelativeSize != 1f) {
+            p.setTextSize(p.getTextSize() * mRelativeSize);
+        }
+    }
+
+    @Override
+    public void updateDrawState(TextPaint tp) {
+        if (mRelativeSize != 1f) {
+            tp.setTextSize(tp.getTextSize() * mRelativeSize);
+        }
+    }
+
+    /**
+     * get the nested number
+     *
+     * @return the nested number
+     */
+    public int getNested() {
+        return mNested;
+    }
+}
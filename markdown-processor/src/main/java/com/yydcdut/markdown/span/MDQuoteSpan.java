@@ -49,4 +49,13 @@ public class MDQuoteSpan extends QuoteSpan {
             super.drawLeadingMargin(c, p, (int) (x + i * length), dir + QUOTE_WIDTH_PLUS, top, baseline, bottom, text, start, end, first, layout);
         }
     }
+
+    /**
+     * get the nested number
+     *
+     * @return the nested number
+     */
+    public int getNested() {
+        return mNested;
+    }
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.span;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.style.ReplacementSpan;
+
+/**
+ * table grammar span, the whole table is drawn by this one span.
+ * <p>
+ * The column widths and the cell {@link StaticLayout}s are measured once and cached,
+ * they are measured again only when the text size, typeface or color of paint or the max width changes.
+ * When the table is wider than the max width, the wide columns are shrunk and their cells are wrapped.
+ * When drawing, the rows out of the clip bounds are skipped.
+ */
+public class MDTableSpan extends ReplacementSpan {
+    private static final float MAX_COLUMN_WIDTH_TIMES = 12f;
+    private static final float PADDING_TIMES = 0.4f;
+    private static final int BORDER_WIDTH = 1;
+
+    private final String[][] mCells;
+    private final Layout.Alignment[] mAlignments;
+    private final int mBorderColor;
+
+    private final TextPaint mTextPaint = new TextPaint();
+    private final TextPaint mHeaderTextPaint = new TextPaint();
+    private final Rect mClipRect = new Rect();
+
+    private float mMeasuredTextSize = -1f;
+    private Typeface mMeasuredTypeface;
+    private int mMeasuredColor;
+    private int mMeasuredMaxWidth;
+
+    /**
+     * the width available for the table, 0 means unknown
+     */
+    private int mMaxWidth;
+
+    private int mPadding;
+    private int[] mColumnWidths;
+    private int[] mRowTops;
+    private StaticLayout[][] mLayouts;
+    private int mWidth;
+    private int mHeight;
+
+    /**
+     * Constructor
+     *
+     * @param cells       the cells of table, the first row is header
+     * @param alignments  the alignment of columns
+     * @param borderColor the border color
+     */
+    public MDTableSpan(@NonNull String[][] cells, @NonNull Layout.Alignment[] alignments, int borderColor) {
+        mCells = cells;
+        mAlignments = alignments;
+        mBorderColor = borderColor;
+    }
+
+    /**
+     * set the width available for the table, such as the width of text in {@link com.yydcdut.markdown.MarkdownTextView}
+     *
+     * @param maxWidth the width, 0 means unknown, the width of column is only limited by the text size
+     */
+    public void setMaxWidth(int maxWidth) {
+        mMaxWidth = Math.max(maxWidth, 0);
+    }
+
+    @Override
+    public int getSize(Paint paint, CharSequence text, int start, int end, Paint.FontMetricsInt fm) {
+        measure(paint);
+        if (fm != null) {
+            fm.ascent = -mHeight;
+            fm.top = fm.ascent;
+            fm.descent = 0;
+            fm.bottom = 0;
+        }
+        return mWidth;
+    }
+
+    @Override
+    public void draw(Canvas canvas, CharSequence text, int start, int end, float x, int top, int y, int bottom, Paint paint) {
+        measure(paint);
+        canvas.getClipBounds(mClipRect);
+        final int tableTop = y - mHeight;
+        final int rowsCount = mLayouts.length;
+        final int columnsCount = mColumnWidths.length;
+        int color = paint.getColor();
+        Paint.Style style = paint.getStyle();
+        paint.setColor(mBorderColor);
+        paint.setStyle(Paint.Style.FILL);
+        for (int row = 0; row < rowsCount; row++) {
+            int rowTop = tableTop + mRowTops[row];
+            int rowBottom = tableTop + mRowTops[row + 1];
+            if (rowBottom < mClipRect.top) {
+                continue;
+            }
+            if (rowTop > mClipRect.bottom) {
+                break;
+            }
+            canvas.drawRect(x, rowTop, x + mWidth, rowTop + BORDER_WIDTH, paint);
+            float cellLeft = x + BORDER_WIDTH;
+            for (int column = 0; column < columnsCount; column++) {
+                canvas.save();
+                canvas.translate(cellLeft + mPadding, rowTop + BORDER_WIDTH + mPadding);
+                mLayouts[row][column].draw(canvas);
+                canvas.restore();
+                cellLeft += mColumnWidths[column] + mPadding * 2 + BORDER_WIDTH;
+            }
+        }
+        int lineTop = Math.max(tableTop, mClipRect.top);
+        int lineBottom = Math.min(y, mClipRect.bottom);
+        if (lineTop < lineBottom) {
+            canvas.drawRect(x, y - BORDER_WIDTH, x + mWidth, y, paint);
+            float lineLeft = x;
+            for (int column = 0; column <= columnsCount; column++) {
+                canvas.drawRect(lineLeft, lineTop, lineLeft + BORDER_WIDTH, lineBottom, paint);
+                if (column < columnsCount) {
+                    lineLeft += mColumnWidths[column] + mPadding * 2 + BORDER_WIDTH;
+                }
+            }
+        }
+        paint.setColor(color);
+        paint.setStyle(style);
+    }
+
+    /**
+     * measure the column widths and the cell layouts, do nothing if the paint is not changed
+     *
+     * @param paint the paint of text
+     */
+    private void measure(Paint paint) {
+        if (mLayouts != null && mMeasuredTextSize == paint.getTextSize()
+                && mMeasuredTypeface == paint.getTypeface() && mMeasuredColor == paint.getColor()
+                && mMeasuredMaxWidth == mMaxWidth) {
+            return;
+        }
+        mMeasuredTextSize = paint.getTextSize();
+        mMeasuredTypeface = paint.getTypeface();
+        mMeasuredColor = paint.getColor();
+        mMeasuredMaxWidth = mMaxWidth;
+        mTextPaint.set(paint);
+        mHeaderTextPaint.set(paint);
+        mHeaderTextPaint.setFakeBoldText(true);
+        mPadding = (int) (mMeasuredTextSize * PADDING_TIMES);
+
+        final int rowsCount = mCells.length;
+        final int columnsCount = mAlignments.length;
+        final int maxColumnWidth = (int) (mMeasuredTextSize * MAX_COLUMN_WIDTH_TIMES);
+        mColumnWidths = new int[columnsCount];
+        for (int row = 0; row < rowsCount; row++) {
+            TextPaint textPaint = row == 0 ? mHeaderTextPaint : mTextPaint;
+            for (int column = 0; column < columnsCount; column++) {
+                int width = (int) Math.ceil(Layout.getDesiredWidth(mCells[row][column], textPaint));
+                mColumnWidths[column] = Math.max(mColumnWidths[column], Math.min(width, maxColumnWidth));
+            }
+        }
+        if (mMaxWidth > 0) {
+            fitColumns(mMaxWidth - BORDER_WIDTH - columnsCount * (mPadding * 2 + BORDER_WIDTH));
+        }
+
+        mLayouts = new StaticLayout[rowsCount][columnsCount];
+        mRowTops = new int[rowsCount + 1];
+        for (int row = 0; row < rowsCount; row++) {
+            TextPaint textPaint = row == 0 ? mHeaderTextPaint : mTextPaint;
+            int rowHeight = 0;
+            for (int column = 0; column < columnsCount; column++) {
+                StaticLayout layout = new StaticLayout(mCells[row][column], textPaint, Math.max(mColumnWidths[column], 1),
+                        mAlignments[column], 1f, 0f, false);
+                mLayouts[row][column] = layout;
+                rowHeight = Math.max(rowHeight, layout.getHeight());
+            }
+            mRowTops[row + 1] = mRowTops[row] + rowHeight + mPadding * 2 + BORDER_WIDTH;
+        }
+
+        int width = BORDER_WIDTH;
+        for (int column = 0; column < columnsCount; column++) {
+            width += mColumnWidths[column] + mPadding * 2 + BORDER_WIDTH;
+        }
+        mWidth = width;
+        mHeight = mRowTops[rowsCount] + BORDER_WIDTH;
+    }
+
+    /**
+     * shrink the widest columns until the columns fit the width, the narrow columns keep their widths
+     *
+     * @param width the width for the text of all columns
+     */
+    private void fitColumns(int width) {
+        final int columnsCount = mColumnWidths.length;
+        final int minColumnWidth = (int) Math.ceil(mMeasuredTextSize);
+        int total = 0;
+        for (int column = 0; column < columnsCount; column++) {
+            total += mColumnWidths[column];
+        }
+        if (total <= width) {
+            return;
+        }
+        //the columns narrower than the even share of the rest width keep their widths, the others share the rest width
+        boolean[] fixed = new boolean[columnsCount];
+        int restWidth = width;
+        int restCount = columnsCount;
+        boolean changed = true;
+        while (changed && restCount > 0) {
+            changed = false;
+            int share = restWidth / restCount;
+            for (int column = 0; column < columnsCount; column++) {
+                if (!fixed[column] && mColumnWidths[column] <= share) {
+                    fixed[column] = true;
+                    restWidth -= mColumnWidths[column];
+                    restCount--;
+                    changed = true;
+                }
+            }
+        }
+        for (int column = 0; column < columnsCount && restCount > 0; column++) {
+            if (!fixed[column]) {
+                int share = restWidth / restCount;
+                mColumnWidths[column] = Math.max(share, minColumnWidth);
+                restWidth -= share;
+                restCount--;
+            }
+        }
+    }
+}
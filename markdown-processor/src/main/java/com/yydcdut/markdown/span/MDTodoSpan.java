@@ -30,6 +30,7 @@ public class MDTodoSpan extends QuoteSpan {
     private static final int GAP_WIDTH_PLUS = 10;
 
     private int mMarginLength = 50;
+    private final RectF mRectF = new RectF();
 
     protected final int mColor;
     protected final int mLineNumber;
@@ -68,8 +69,8 @@ public class MDTodoSpan extends QuoteSpan {
         p.setStrokeJoin(Paint.Join.ROUND);
         p.setStrokeCap(Paint.Cap.ROUND);
 
-        RectF rectF = new RectF(x + height * 1 / 9, top + height * 1 / 9, x + height * 8 / 9, bottom - height * 1 / 9);
-        c.drawRoundRect(rectF, height * 2 / 9, height * 2 / 9, p);
+        mRectF.set(x + height * 1 / 9, top + height * 1 / 9, x + height * 8 / 9, bottom - height * 1 / 9);
+        c.drawRoundRect(mRectF, height * 2 / 9, height * 2 / 9, p);
 
         p.setStyle(style);
         p.setColor(color);
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.syntax;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The outline of one header in the content after parsing, for table of contents.
+ */
+public class Outline {
+    private final int level;
+    private final String text;
+    private final int start;
+    private final int end;
+
+    /**
+     * Constructor
+     *
+     * @param level the level of header, 1 for h1
+     * @param text  the text of header after parsing
+     * @param start the start position of header in the content after parsing
+     * @param end   the end position of header in the content after parsing
+     */
+    public Outline(int level, @NonNull String text, int start, int end) {
+        this.level = level;
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @NonNull
+    public String getText() {
+        return text;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+}
@@ -228,6 +228,18 @@ public interface SyntaxFactory {
      */
     Syntax getCodeBlockSyntax(@NonNull MarkdownConfiguration markdownConfiguration);
 
+    /**
+     * Get table syntax.
+     * syntax:
+     * "| header | header |
+     * | :----- | -----: |
+     * | cell   | cell   |"
+     *
+     * @param markdownConfiguration configuration, need HorizontalRulesColor
+     * @return the interface {@link Syntax} for table syntax
+     */
+    Syntax getTableSyntax(@NonNull MarkdownConfiguration markdownConfiguration);
+
     /**
      * Get back slash syntax.
      * syntax:
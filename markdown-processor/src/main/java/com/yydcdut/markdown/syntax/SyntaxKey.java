@@ -444,4 +444,23 @@ public interface SyntaxKey {
     String IGNORE_UNORDER_LIST_5 = KEY_TODO_DONE_3;
     //----------  UnOrderListSyntax  ----------
 
+    //----------  TableSyntax  ----------
+    /**
+     * table cell separator key
+     */
+    char KEY_TABLE_SEPARATOR = '|';
+    /**
+     * table alignment row key
+     */
+    char KEY_TABLE_ALIGN_HYPHEN = '-';
+    /**
+     * table alignment row key
+     */
+    char KEY_TABLE_ALIGN_COLON = ':';
+    /**
+     * the place holder of table
+     */
+    String PLACE_HOLDER_TABLE = "\uFFFC";
+    //----------  TableSyntax  ----------
+
 }
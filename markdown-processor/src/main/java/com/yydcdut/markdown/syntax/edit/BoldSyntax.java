@@ -15,16 +15,12 @@
  */
 package com.yydcdut.markdown.syntax.edit;
 
-import android.graphics.Typeface;
 import android.support.annotation.NonNull;
 import android.text.Editable;
-import android.text.style.StyleSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
-import com.yydcdut.markdown.utils.SyntaxUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,25 +31,23 @@ import java.util.List;
  * <p>
  * Created by yuyidong on 16/6/29.
  */
-class BoldSyntax extends EditSyntaxAdapter implements SyntaxUtils.OnWhatSpanCallback {
-    private static final String PATTERN_ASTERISK = "(\\*\\*)(.*?)(\\*\\*)";
-    private static final String PATTERN_UNDERLINE = "(__)(.*?)(__)";
+class BoldSyntax extends EditSyntaxAdapter {
+    private final EditLexer mEditLexer;
 
     public BoldSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         super(markdownConfiguration);
+        mEditLexer = new EditLexer(markdownConfiguration);
     }
 
     @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
-        List<EditToken> editTokenList = new ArrayList<>();
-        editTokenList.addAll(SyntaxUtils.parse(editable, PATTERN_ASTERISK, this));
-        editTokenList.addAll(SyntaxUtils.parse(editable, PATTERN_UNDERLINE, this));
-        return editTokenList;
+        return mEditLexer.scan(editable, EditLexer.KIND_BOLD);
     }
 
+    @NonNull
     @Override
-    public Object whatSpan() {
-        return new StyleSpan(Typeface.BOLD);
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_BOLD);
     }
-}
\ No newline at end of file
+}
@@ -17,12 +17,9 @@ package com.yydcdut.markdown.syntax.edit;
 
 import android.support.annotation.NonNull;
 import android.text.Editable;
-import android.text.Layout;
-import android.text.style.AlignmentSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
-import com.yydcdut.markdown.utils.SyntaxUtils;
 
 import java.util.List;
 
@@ -34,21 +31,23 @@ import java.util.List;
  * <p>
  * Created by yuyidong on 16/6/30.
  */
-class CenterAlignSyntax extends EditSyntaxAdapter implements SyntaxUtils.OnWhatSpanCallback {
-    private static final String PATTERN = "^(\\[)(.*?)(\\])$";
+class CenterAlignSyntax extends EditSyntaxAdapter {
+    private final EditLexer mEditLexer;
 
     public CenterAlignSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         super(markdownConfiguration);
+        mEditLexer = new EditLexer(markdownConfiguration);
     }
 
     @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
-        return SyntaxUtils.parse(editable, PATTERN, this);
+        return mEditLexer.scan(editable, EditLexer.KIND_CENTER_ALIGN);
     }
 
+    @NonNull
     @Override
-    public Object whatSpan() {
-        return new AlignmentSpan.Standard(Layout.Alignment.ALIGN_CENTER);
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_CENTER_ALIGN);
     }
 }
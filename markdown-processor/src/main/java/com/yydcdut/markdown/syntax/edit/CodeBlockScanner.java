@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.syntax.edit;
+
+import android.support.annotation.NonNull;
+import android.text.Editable;
+import android.text.Spannable;
+import android.text.TextUtils;
+
+import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.live.EditToken;
+import com.yydcdut.markdown.span.MDCodeBlockSpan;
+import com.yydcdut.markdown.syntax.SyntaxKey;
+import com.yydcdut.markdown.utils.SyntaxUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Style the code blocks of the whole text piece by piece, the same spans as {@link CodeBlockSyntax}.
+ * <p>
+ * Each {@link #format(Editable, int)} scans the lines after the last one for the code block keys,
+ * the lines of a code block found are styled in pieces too, so a long text is styled without scanning all of it at once.
+ * The scanning starts again when the text before the scanned position is changed.
+ */
+public class CodeBlockScanner {
+    private final int mColor;
+
+    /**
+     * the start position of the next line to scan
+     */
+    private int mPosition;
+    /**
+     * the start position of the code block key not closed, -1 if none
+     */
+    private int mOpen = -1;
+    /**
+     * the position after the last code block, the code block spans between it and the next code block are stale
+     */
+    private int mGapStart;
+
+    /**
+     * the start position of ending key of the code block being styled, -1 if none
+     */
+    private int mBlockEnd = -1;
+    /**
+     * the start position of next line of the code block to style
+     */
+    private int mLineStart;
+    private int mLineIndex;
+    private MDCodeBlockSpan mParentSpan;
+
+    public CodeBlockScanner(@NonNull MarkdownConfiguration markdownConfiguration) {
+        mColor = markdownConfiguration.getTheme().getBackgroundColor();
+    }
+
+    /**
+     * scan from the beginning
+     */
+    public void reset() {
+        mPosition = 0;
+        mOpen = -1;
+        mGapStart = 0;
+        mBlockEnd = -1;
+        mParentSpan = null;
+    }
+
+    /**
+     * the text is changed, scan from the beginning if the scanned text is changed
+     *
+     * @param start  the start position of changing
+     * @param before the length of text replaced
+     * @param after  the length of new text
+     */
+    public void onTextChanged(int start, int before, int after) {
+        if (start < mPosition) {
+            reset();
+        }
+    }
+
+    /**
+     * scan and style the next piece of text
+     *
+     * @param editable  the content
+     * @param maxLength the max length of text to scan and style, the lines aren't split
+     * @return true if there is text left
+     */
+    public boolean format(@NonNull Editable editable, int maxLength) {
+        final int length = editable.length();
+        int budget = maxLength;
+        if (mBlockEnd >= 0) {
+            budget -= formatBlock(editable, budget);
+            if (mBlockEnd >= 0) {
+                return true;
+            }
+        }
+        while (budget > 0 && mPosition < length) {
+            int lineStart = mPosition;
+            int lineEnd = TextUtils.indexOf(editable, '\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            mPosition = lineEnd + 1;
+            budget -= mPosition - lineStart;
+            if (!startsWith(editable, lineStart, lineEnd)) {
+                continue;
+            }
+            if (mOpen < 0) {
+                mOpen = lineStart;
+            } else if (lineEnd - lineStart == SyntaxKey.KEY_CODE_BLOCK.length()) {
+                removeStaleSpans(editable, mGapStart, mOpen);
+                mGapStart = Math.min(lineEnd + 1, length);
+                mBlockEnd = lineStart;
+                mLineStart = mOpen;
+                mLineIndex = 0;
+                mParentSpan = null;
+                mOpen = -1;
+                budget -= formatBlock(editable, budget);
+                if (mBlockEnd >= 0) {
+                    return true;
+                }
+            }
+        }
+        if (mPosition < length) {
+            return true;
+        }
+        //the code block key not closed is not code block
+        removeStaleSpans(editable, mGapStart, length);
+        mGapStart = length;
+        return false;
+    }
+
+    /**
+     * style the lines of code block from {@link #mLineStart}
+     *
+     * @return the length of text styled
+     */
+    private int formatBlock(Editable editable, int budget) {
+        final int from = mLineStart;
+        List<EditToken> editTokenList = new ArrayList<>();
+        while (mLineStart < mBlockEnd && (mLineStart - from < budget || editTokenList.isEmpty())) {
+            int position = TextUtils.indexOf(editable, '\n', mLineStart, mBlockEnd);
+            if (position < 0) {
+                break;
+            }
+            MDCodeBlockSpan mdCodeBlockSpan = new MDCodeBlockSpan(mColor);
+            int flag = mLineIndex == 0 ? Spannable.SPAN_EXCLUSIVE_INCLUSIVE : Spannable.SPAN_INCLUSIVE_INCLUSIVE;
+            if (position == mLineStart) {
+                editTokenList.add(new EditToken(mdCodeBlockSpan, position - 1, position + 1, flag));
+            } else {
+                editTokenList.add(new EditToken(mdCodeBlockSpan, mLineStart, position, flag));
+            }
+            link(mdCodeBlockSpan);
+            mLineIndex++;
+            mLineStart = position + 1;
+        }
+        if (mLineStart >= mBlockEnd) {
+            final int keyLength = SyntaxKey.KEY_CODE_BLOCK.length();
+            MDCodeBlockSpan mdCodeBlockSpan = new MDCodeBlockSpan(mColor);
+            editTokenList.add(new EditToken(mdCodeBlockSpan, mBlockEnd,
+                    mBlockEnd + keyLength + (mBlockEnd + keyLength >= editable.length() ? 0 : 1),
+                    Spannable.SPAN_INCLUSIVE_EXCLUSIVE));
+            link(mdCodeBlockSpan);
+            mLineStart = mGapStart;
+            mBlockEnd = -1;
+            mParentSpan = null;
+        }
+        removeStaleSpans(editable, from, mLineStart);
+        SyntaxUtils.setCodeSpan(editable, editTokenList);
+        return mLineStart - from;
+    }
+
+    private void link(MDCodeBlockSpan mdCodeBlockSpan) {
+        if (mParentSpan != null) {
+            mParentSpan.setNext(mdCodeBlockSpan);
+        }
+        mParentSpan = mdCodeBlockSpan;
+    }
+
+    /**
+     * remove the code block spans starting in the range, so every stale span is removed by the range its start is in
+     */
+    private static void removeStaleSpans(Editable editable, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        final boolean toEnd = end >= editable.length();
+        for (MDCodeBlockSpan span : editable.getSpans(start, end, MDCodeBlockSpan.class)) {
+            int spanStart = editable.getSpanStart(span);
+            if (spanStart >= start && (spanStart < end || toEnd)) {
+                editable.removeSpan(span);
+            }
+        }
+    }
+
+    private static boolean startsWith(CharSequence text, int start, int end) {
+        final String key = SyntaxKey.KEY_CODE_BLOCK;
+        if (end - start < key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (text.charAt(start + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
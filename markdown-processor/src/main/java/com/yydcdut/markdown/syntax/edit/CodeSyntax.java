@@ -17,12 +17,9 @@ package com.yydcdut.markdown.syntax.edit;
 
 import android.support.annotation.NonNull;
 import android.text.Editable;
-import android.text.style.BackgroundColorSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
-import com.yydcdut.markdown.syntax.SyntaxKey;
-import com.yydcdut.markdown.utils.SyntaxUtils;
 
 import java.util.List;
 
@@ -33,24 +30,23 @@ import java.util.List;
  * <p>
  * Created by yuyidong on 16/6/30.
  */
-class CodeSyntax extends EditSyntaxAdapter implements SyntaxUtils.OnWhatSpanCallback {
-    private static final String PATTERN = "(`)(.*?)(`)";
-
-    private int mColor;
+class CodeSyntax extends EditSyntaxAdapter {
+    private final EditLexer mEditLexer;
 
     public CodeSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         super(markdownConfiguration);
-        mColor = markdownConfiguration.getCodeBgColor();
+        mEditLexer = new EditLexer(markdownConfiguration);
     }
 
     @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
-        return SyntaxUtils.parse(editable, PATTERN, SyntaxKey.KEY_CODE_BLOCK, this);
+        return mEditLexer.scan(editable, EditLexer.KIND_CODE);
     }
 
+    @NonNull
     @Override
-    public Object whatSpan() {
-        return new BackgroundColorSpan(mColor);
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_CODE);
     }
 }
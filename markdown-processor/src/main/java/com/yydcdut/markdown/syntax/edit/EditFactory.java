@@ -17,14 +17,27 @@ package com.yydcdut.markdown.syntax.edit;
 
 import android.support.annotation.NonNull;
 import android.text.Editable;
+import android.text.style.AlignmentSpan;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StrikethroughSpan;
+import android.text.style.StyleSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
+import com.yydcdut.markdown.span.MDCodeBlockSpan;
+import com.yydcdut.markdown.span.MDHorizontalRulesSpan;
+import com.yydcdut.markdown.span.MDOrderListSpan;
+import com.yydcdut.markdown.span.MDQuoteSpan;
+import com.yydcdut.markdown.span.MDUnOrderListSpan;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This factory's purpose is parsing content <b>quickly</b>, as the same time, it doesn't support all syntax.
@@ -33,8 +46,21 @@ import java.util.List;
  * Created by yuyidong on 16/7/2.
  */
 public class EditFactory implements SyntaxFactory {
+    /**
+     * the spans set by syntaxes of this factory, only these spans are diffed when parsing in place
+     */
+    private static final Class<?>[] SPAN_CLASSES = {StyleSpan.class, StrikethroughSpan.class, BackgroundColorSpan.class,
+            AlignmentSpan.Standard.class, RelativeSizeSpan.class, MDQuoteSpan.class, MDCodeBlockSpan.class,
+            MDHorizontalRulesSpan.class, MDOrderListSpan.class, MDUnOrderListSpan.class};
+    /**
+     * the spans set by syntaxes which parse line by line, it is the same as {@link #SPAN_CLASSES} without code block
+     */
+    private static final Class<?>[] LINE_SPAN_CLASSES = {StyleSpan.class, StrikethroughSpan.class, BackgroundColorSpan.class,
+            AlignmentSpan.Standard.class, RelativeSizeSpan.class, MDQuoteSpan.class,
+            MDHorizontalRulesSpan.class, MDOrderListSpan.class, MDUnOrderListSpan.class};
 
     private List<Syntax> mSyntaxList;
+    private EditLexer mEditLexer;
     private MarkdownConfiguration mMarkdownConfiguration;
 
     private EditFactory() {
@@ -134,6 +160,11 @@ public class EditFactory implements SyntaxFactory {
         return new CodeBlockSyntax(markdownConfiguration);
     }
 
+    @Override
+    public Syntax getTableSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
+        return new NormalSyntax(markdownConfiguration);
+    }
+
     @Override
     public Syntax getBackslashSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         return new NormalSyntax(markdownConfiguration);
@@ -141,18 +172,10 @@ public class EditFactory implements SyntaxFactory {
 
     private void init(MarkdownConfiguration markdownConfiguration) {
         mMarkdownConfiguration = markdownConfiguration;
+        //bold, italic, strike through, code, center align, header, block quotes, horizontal rules and list are in one lexer
+        mEditLexer = new EditLexer(mMarkdownConfiguration);
         mSyntaxList = new ArrayList<>();
-        mSyntaxList.add(getBoldSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getItalicSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getStrikeThroughSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getCodeSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getCenterAlignSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getHeaderSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getBlockQuotesSyntax(mMarkdownConfiguration));
         mSyntaxList.add(getCodeBlockSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getHorizontalRulesSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getOrderListSyntax(mMarkdownConfiguration));
-        mSyntaxList.add(getUnOrderListSyntax(mMarkdownConfiguration));
     }
 
     @NonNull
@@ -164,18 +187,207 @@ public class EditFactory implements SyntaxFactory {
         if (markdownConfiguration == null) {
             return charSequence;
         }
-        if (mSyntaxList == null || mMarkdownConfiguration == null || mMarkdownConfiguration != markdownConfiguration) {
+        if (mSyntaxList == null || mEditLexer == null || mMarkdownConfiguration == null || mMarkdownConfiguration != markdownConfiguration) {
             init(markdownConfiguration);
         }
         Editable editable = (Editable) charSequence;
-        List<EditToken> list = new ArrayList<>();
-        for (Syntax syntax : mSyntaxList) {
-            list.addAll(syntax.format(editable));
-        }
+        List<EditToken> list = getEditTokens(editable, markdownConfiguration);
         Editable newEditable = Editable.Factory.getInstance().newEditable(editable.toString());
         for (EditToken editToken : list) {
             newEditable.setSpan(editToken.getSpan(), editToken.getStart(), editToken.getEnd(), editToken.getFlag());
         }
         return newEditable;
     }
+
+    /**
+     * parse content and apply the difference of spans to the editable itself,
+     * the spans vanished are removed, the new spans are added and the unchanged spans are kept.
+     * Different from {@link #parse(CharSequence, MarkdownConfiguration)}, the editable doesn't need to be set into EditText again.
+     *
+     * @param editable              the content
+     * @param markdownConfiguration configuration
+     * @return the editable itself
+     */
+    @NonNull
+    public Editable parseInPlace(@NonNull Editable editable, @NonNull MarkdownConfiguration markdownConfiguration) {
+        applyEditTokens(editable, getEditTokens(editable, markdownConfiguration));
+        return editable;
+    }
+
+    /**
+     * parse content, and return the {@link EditToken}s of all syntaxes
+     *
+     * @param editable              the content
+     * @param markdownConfiguration configuration
+     * @return the {@link EditToken}s
+     */
+    @NonNull
+    public List<EditToken> getEditTokens(@NonNull Editable editable, @NonNull MarkdownConfiguration markdownConfiguration) {
+        if (mSyntaxList == null || mEditLexer == null || mMarkdownConfiguration == null || mMarkdownConfiguration != markdownConfiguration) {
+            init(markdownConfiguration);
+        }
+        List<EditToken> list = mEditLexer.scan(editable, EditLexer.KIND_ALL);
+        for (Syntax syntax : mSyntaxList) {
+            list.addAll(syntax.format(editable));
+        }
+        return list;
+    }
+
+    /**
+     * parse the lines between start and end, and return the {@link EditToken}s of all syntaxes except code block,
+     * the content out of these lines is not parsed.
+     * Code block depends on the whole content, it is not included.
+     *
+     * @param editable              the content
+     * @param markdownConfiguration configuration
+     * @param start                 the start position of lines
+     * @param end                   the end position of lines
+     * @return the {@link EditToken}s
+     */
+    @NonNull
+    public List<EditToken> getEditTokens(@NonNull Editable editable, @NonNull MarkdownConfiguration markdownConfiguration, int start, int end) {
+        if (mSyntaxList == null || mEditLexer == null || mMarkdownConfiguration == null || mMarkdownConfiguration != markdownConfiguration) {
+            init(markdownConfiguration);
+        }
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_ALL);
+    }
+
+    /**
+     * parse the lines between start and end with the syntax of this factory, the content out of these lines is not parsed
+     * if the syntax parses line by line
+     *
+     * @param syntax   the syntax got from {@link EditFactory}
+     * @param editable the content
+     * @param start    the start position of lines
+     * @param end      the end position of lines
+     * @return the {@link EditToken}s in these lines
+     */
+    @NonNull
+    public static List<EditToken> format(@NonNull Syntax syntax, @NonNull Editable editable, int start, int end) {
+        if (syntax instanceof EditSyntaxAdapter) {
+            return ((EditSyntaxAdapter) syntax).format(editable, start, end);
+        }
+        List<EditToken> editTokenList = new ArrayList<>();
+        for (EditToken editToken : syntax.format(editable)) {
+            if (editToken.getStart() >= start && editToken.getEnd() <= end) {
+                editTokenList.add(editToken);
+            }
+        }
+        return editTokenList;
+    }
+
+    /**
+     * apply the difference between the {@link EditToken}s and the spans of editable to editable
+     *
+     * @param editable the content
+     * @param list     the {@link EditToken}s of the content
+     */
+    public static void applyEditTokens(@NonNull Editable editable, @NonNull List<EditToken> list) {
+        applyEditTokens(editable, list, 0, editable.length(), SPAN_CLASSES);
+    }
+
+    /**
+     * apply the difference between the {@link EditToken}s and the spans in the lines between start and end to editable,
+     * the {@link EditToken}s are got from {@link #getEditTokens(Editable, MarkdownConfiguration, int, int)}
+     *
+     * @param editable the content
+     * @param list     the {@link EditToken}s of these lines
+     * @param start    the start position of lines
+     * @param end      the end position of lines
+     */
+    public static void applyEditTokens(@NonNull Editable editable, @NonNull List<EditToken> list, int start, int end) {
+        applyEditTokens(editable, list, start, end, LINE_SPAN_CLASSES);
+    }
+
+    private static void applyEditTokens(@NonNull Editable editable, @NonNull List<EditToken> list, int start, int end, Class<?>[] classes) {
+        final int length = editable.length();
+        Map<Long, List<Object>> oldSpanMap = new HashMap<>();
+        for (Class<?> clazz : classes) {
+            Object[] spans = editable.getSpans(start, end, clazz);
+            for (Object span : spans) {
+                if (span.getClass() != clazz) {
+                    continue;
+                }
+                int spanStart = editable.getSpanStart(span);
+                int spanEnd = editable.getSpanEnd(span);
+                if (spanStart < start || spanEnd > end) {
+                    continue;
+                }
+                Long key = getKey(spanStart, spanEnd);
+                List<Object> spanList = oldSpanMap.get(key);
+                if (spanList == null) {
+                    spanList = new ArrayList<>(2);
+                    oldSpanMap.put(key, spanList);
+                }
+                spanList.add(span);
+            }
+        }
+        //one span may be in several tokens, the last one wins as setSpan() does
+        Map<Object, Boolean> handledSpanMap = new IdentityHashMap<>();
+        for (int i = list.size() - 1; i >= 0; i--) {
+            EditToken editToken = list.get(i);
+            Object span = editToken.getSpan();
+            if (handledSpanMap.put(span, Boolean.TRUE) != null) {
+                continue;
+            }
+            if (editToken.getStart() < 0 || editToken.getEnd() > length || editToken.getStart() > editToken.getEnd()) {
+                continue;
+            }
+            List<Object> spanList = oldSpanMap.get(getKey(editToken.getStart(), editToken.getEnd()));
+            if (spanList != null && removeSameSpan(editable, spanList, editToken)) {
+                continue;
+            }
+            editable.setSpan(span, editToken.getStart(), editToken.getEnd(), editToken.getFlag());
+        }
+        for (List<Object> spanList : oldSpanMap.values()) {
+            for (Object span : spanList) {
+                editable.removeSpan(span);
+            }
+        }
+    }
+
+    private static Long getKey(int start, int end) {
+        return ((long) start << 32) | (end & 0xffffffffL);
+    }
+
+    private static boolean removeSameSpan(@NonNull Editable editable, @NonNull List<Object> spanList, @NonNull EditToken editToken) {
+        final int size = spanList.size();
+        for (int i = 0; i < size; i++) {
+            Object oldSpan = spanList.get(i);
+            if (editable.getSpanFlags(oldSpan) == editToken.getFlag() && isSameSpan(oldSpan, editToken.getSpan())) {
+                spanList.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSameSpan(@NonNull Object oldSpan, @NonNull Object newSpan) {
+        if (oldSpan.getClass() != newSpan.getClass()) {
+            return false;
+        }
+        if (newSpan instanceof StyleSpan) {
+            return ((StyleSpan) oldSpan).getStyle() == ((StyleSpan) newSpan).getStyle();
+        } else if (newSpan instanceof StrikethroughSpan || newSpan instanceof MDHorizontalRulesSpan) {
+            return true;
+        } else if (newSpan instanceof BackgroundColorSpan) {
+            return ((BackgroundColorSpan) oldSpan).getBackgroundColor() == ((BackgroundColorSpan) newSpan).getBackgroundColor();
+        } else if (newSpan instanceof AlignmentSpan.Standard) {
+            return ((AlignmentSpan.Standard) oldSpan).getAlignment() == ((AlignmentSpan.Standard) newSpan).getAlignment();
+        } else if (newSpan instanceof RelativeSizeSpan) {
+            return ((RelativeSizeSpan) oldSpan).getSizeChange() == ((RelativeSizeSpan) newSpan).getSizeChange();
+        } else if (newSpan instanceof MDQuoteSpan) {
+            return ((MDQuoteSpan) oldSpan).getNested() == ((MDQuoteSpan) newSpan).getNested()
+                    && ((MDQuoteSpan) oldSpan).getColor() == ((MDQuoteSpan) newSpan).getColor();
+        } else if (newSpan instanceof MDOrderListSpan) {
+            return ((MDOrderListSpan) oldSpan).getNested() == ((MDOrderListSpan) newSpan).getNested()
+                    && ((MDOrderListSpan) oldSpan).getNumber() == ((MDOrderListSpan) newSpan).getNumber();
+        } else if (newSpan instanceof MDUnOrderListSpan) {
+            return ((MDUnOrderListSpan) oldSpan).getNested() == ((MDUnOrderListSpan) newSpan).getNested()
+                    && ((MDUnOrderListSpan) oldSpan).getType() == ((MDUnOrderListSpan) newSpan).getType()
+                    && ((MDUnOrderListSpan) oldSpan).getColor() == ((MDUnOrderListSpan) newSpan).getColor();
+        }
+        //MDCodeBlockSpan is linked with the next one, always replace it
+        return false;
+    }
 }
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.syntax.edit;
+
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.text.Layout;
+import android.text.Spannable;
+import android.text.Spanned;
+import android.text.style.AlignmentSpan;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StrikethroughSpan;
+import android.text.style.StyleSpan;
+
+import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.live.EditToken;
+import com.yydcdut.markdown.span.MDHorizontalRulesSpan;
+import com.yydcdut.markdown.span.MDOrderListSpan;
+import com.yydcdut.markdown.span.MDQuoteSpan;
+import com.yydcdut.markdown.span.MDUnOrderListSpan;
+import com.yydcdut.markdown.syntax.SyntaxKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The lexer of edit syntaxes except code block.
+ * It walks the content once, line by line, and the positions of {@link EditToken}s are taken from the walk directly.
+ * <p>
+ * The inline keys are matched like the regular expression "(key)(.*?)(key)" in one line,
+ * every key has its own cursor, so "**" and "*" are matched independently.
+ */
+class EditLexer {
+    static final int KIND_BOLD = 1;
+    static final int KIND_ITALIC = 1 << 1;
+    static final int KIND_STRIKE_THROUGH = 1 << 2;
+    static final int KIND_CODE = 1 << 3;
+    static final int KIND_CENTER_ALIGN = 1 << 4;
+    static final int KIND_HEADER = 1 << 5;
+    static final int KIND_BLOCK_QUOTES = 1 << 6;
+    static final int KIND_HORIZONTAL_RULES = 1 << 7;
+    static final int KIND_ORDER_LIST = 1 << 8;
+    static final int KIND_UNORDER_LIST = 1 << 9;
+    static final int KIND_ALL = (1 << 10) - 1;
+    private static final int KIND_COUNT = 10;
+
+    private static final int KEY_BOLD_ASTERISK = 0;
+    private static final int KEY_BOLD_UNDERLINE = 1;
+    private static final int KEY_ITALIC_ASTERISK = 2;
+    private static final int KEY_ITALIC_UNDERLINE = 3;
+    private static final int KEY_STRIKE_THROUGH = 4;
+    private static final int KEY_CODE = 5;
+    private static final int KEY_COUNT = 6;
+    private static final int[] KEY_KIND = {KIND_BOLD, KIND_BOLD, KIND_ITALIC, KIND_ITALIC, KIND_STRIKE_THROUGH, KIND_CODE};
+    private static final int[] KEY_LENGTH = {2, 2, 1, 1, 2, 1};
+
+    private static final int MAX_HEADER_LEVEL = 6;
+    private static final int MIN_HORIZONTAL_RULES_LENGTH = 3;
+    private static final int LIST_MARGIN = 10;
+
+    private final int mCodeColor;
+    private final float[] mHeaderRelativeSizes;
+    private final int mBlockQuotesColor;
+    private final int mHorizontalRulesColor;
+    private final int mHorizontalRulesHeight;
+    private final int mUnOrderListColor;
+
+    EditLexer(@NonNull MarkdownConfiguration markdownConfiguration) {
+        mCodeColor = markdownConfiguration.getCodeBgColor();
+        mHeaderRelativeSizes = new float[]{
+                markdownConfiguration.getHeader1RelativeSize(),
+                markdownConfiguration.getHeader2RelativeSize(),
+                markdownConfiguration.getHeader3RelativeSize(),
+                markdownConfiguration.getHeader4RelativeSize(),
+                markdownConfiguration.getHeader5RelativeSize(),
+                markdownConfiguration.getHeader6RelativeSize()};
+        mBlockQuotesColor = markdownConfiguration.getBlockQuotesLineColor();
+        mHorizontalRulesColor = markdownConfiguration.getHorizontalRulesColor();
+        mHorizontalRulesHeight = markdownConfiguration.getHorizontalRulesHeight();
+        mUnOrderListColor = markdownConfiguration.getUnOrderListColor();
+    }
+
+    /**
+     * walk the content once and get the {@link EditToken}s of the kinds
+     *
+     * @param text  the content
+     * @param kinds the kinds of syntax, such as {@link #KIND_BOLD} | {@link #KIND_ITALIC}
+     * @return the {@link EditToken}s, grouped by kind in the order of kind
+     */
+    @NonNull
+    List<EditToken> scan(@NonNull CharSequence text, int kinds) {
+        return scan(text, 0, text.length(), kinds);
+    }
+
+    /**
+     * walk the lines between start and end once and get the {@link EditToken}s of the kinds,
+     * the content out of these lines is not read
+     *
+     * @param text  the content
+     * @param start the start position, the line where it is is the first line to scan
+     * @param end   the end position, the line where it is is the last line to scan
+     * @param kinds the kinds of syntax, such as {@link #KIND_BOLD} | {@link #KIND_ITALIC}
+     * @return the {@link EditToken}s, grouped by kind in the order of kind
+     */
+    @NonNull
+    List<EditToken> scan(@NonNull CharSequence text, int start, int end, int kinds) {
+        List<List<EditToken>> kindList = new ArrayList<>(KIND_COUNT);
+        for (int i = 0; i < KIND_COUNT; i++) {
+            kindList.add(new ArrayList<EditToken>());
+        }
+        int[] open = new int[KEY_COUNT];
+        int[] next = new int[KEY_COUNT];
+        final int length = text.length();
+        final int rangeEnd = Math.min(end, length);
+        int lineStart = Math.max(Math.min(start, length), 0);
+        while (lineStart > 0 && text.charAt(lineStart - 1) != '\n') {
+            lineStart--;
+        }
+        while (lineStart <= rangeEnd) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && text.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            scanLine(text, lineStart, lineEnd, kinds, open, next, kindList);
+            lineStart = lineEnd + 1;
+        }
+        List<EditToken> editTokenList = new ArrayList<>();
+        for (List<EditToken> list : kindList) {
+            editTokenList.addAll(list);
+        }
+        return editTokenList;
+    }
+
+    private void scanLine(@NonNull CharSequence text, int start, int end, int kinds, int[] open, int[] next, List<List<EditToken>> kindList) {
+        for (int key = 0; key < KEY_COUNT; key++) {
+            open[key] = -1;
+            next[key] = start;
+        }
+        boolean asteriskOnly = true;
+        boolean hyphenOnly = true;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            asteriskOnly &= c == '*';
+            hyphenOnly &= c == '-';
+            switch (c) {
+                case '*':
+                    if (i + 1 < end && text.charAt(i + 1) == '*') {
+                        matchKey(KEY_BOLD_ASTERISK, i, kinds, open, next, kindList);
+                    }
+                    matchKey(KEY_ITALIC_ASTERISK, i, kinds, open, next, kindList);
+                    break;
+                case '_':
+                    if (i + 1 < end && text.charAt(i + 1) == '_') {
+                        matchKey(KEY_BOLD_UNDERLINE, i, kinds, open, next, kindList);
+                    }
+                    matchKey(KEY_ITALIC_UNDERLINE, i, kinds, open, next, kindList);
+                    break;
+                case '~':
+                    if (i + 1 < end && text.charAt(i + 1) == '~') {
+                        matchKey(KEY_STRIKE_THROUGH, i, kinds, open, next, kindList);
+                    }
+                    break;
+                case '`':
+                    //"```" is the key of code block, not code
+                    if (i >= next[KEY_CODE] && i + 2 < end && text.charAt(i + 1) == '`' && text.charAt(i + 2) == '`') {
+                        next[KEY_CODE] = i + SyntaxKey.KEY_CODE_BLOCK.length();
+                    } else {
+                        matchKey(KEY_CODE, i, kinds, open, next, kindList);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (start == end) {
+            return;
+        }
+        scanCenterAlignAndHeader(text, start, end, kinds, kindList);
+        if ((kinds & KIND_BLOCK_QUOTES) != 0) {
+            scanBlockQuotes(text, start, end, kindList);
+        }
+        if ((kinds & KIND_HORIZONTAL_RULES) != 0 && (asteriskOnly || hyphenOnly) && end - start >= MIN_HORIZONTAL_RULES_LENGTH) {
+            add(kindList, KIND_HORIZONTAL_RULES, new EditToken(new MDHorizontalRulesSpan(mHorizontalRulesColor, mHorizontalRulesHeight), start, end));
+        }
+        if ((kinds & (KIND_ORDER_LIST | KIND_UNORDER_LIST)) != 0) {
+            scanList(text, start, end, kinds, kindList);
+        }
+    }
+
+    private void matchKey(int key, int position, int kinds, int[] open, int[] next, List<List<EditToken>> kindList) {
+        if (position < next[key]) {
+            return;
+        }
+        next[key] = position + KEY_LENGTH[key];
+        if (open[key] == -1) {
+            open[key] = position;
+            return;
+        }
+        if ((kinds & KEY_KIND[key]) != 0) {
+            add(kindList, KEY_KIND[key], new EditToken(getKeySpan(key), open[key], position + KEY_LENGTH[key]));
+        }
+        open[key] = -1;
+    }
+
+    @NonNull
+    private Object getKeySpan(int key) {
+        switch (key) {
+            case KEY_BOLD_ASTERISK:
+            case KEY_BOLD_UNDERLINE:
+                return new StyleSpan(Typeface.BOLD);
+            case KEY_ITALIC_ASTERISK:
+            case KEY_ITALIC_UNDERLINE:
+                return new StyleSpan(Typeface.ITALIC);
+            case KEY_STRIKE_THROUGH:
+                return new StrikethroughSpan();
+            case KEY_CODE:
+            default:
+                return new BackgroundColorSpan(mCodeColor);
+        }
+    }
+
+    /**
+     * "[content]", "# content" and "[# content]"
+     */
+    private void scanCenterAlignAndHeader(@NonNull CharSequence text, int start, int end, int kinds, List<List<EditToken>> kindList) {
+        boolean centerAlign = end - start >= 2 && text.charAt(start) == '[' && text.charAt(end - 1) == ']';
+        if ((kinds & KIND_CENTER_ALIGN) != 0 && centerAlign) {
+            add(kindList, KIND_CENTER_ALIGN, new EditToken(new AlignmentSpan.Standard(Layout.Alignment.ALIGN_CENTER), start, end));
+        }
+        if ((kinds & KIND_HEADER) == 0) {
+            return;
+        }
+        int keyStart = centerAlign ? start + 1 : start;
+        int i = keyStart;
+        while (i < end && i - keyStart <= MAX_HEADER_LEVEL && text.charAt(i) == '#') {
+            i++;
+        }
+        int level = i - keyStart;
+        if (level == 0 || level > MAX_HEADER_LEVEL || i >= end || text.charAt(i) != ' ') {
+            return;
+        }
+        add(kindList, KIND_HEADER, new EditToken(new RelativeSizeSpan(mHeaderRelativeSizes[level - 1]), start, end, Spanned.SPAN_EXCLUSIVE_INCLUSIVE));
+    }
+
+    /**
+     * "> content", "> > content"
+     */
+    private void scanBlockQuotes(@NonNull CharSequence text, int start, int end, List<List<EditToken>> kindList) {
+        int nested = 0;
+        int i = start;
+        while (i + 1 < end && text.charAt(i) == '>' && text.charAt(i + 1) == ' ') {
+            nested++;
+            i += SyntaxKey.KEY_BLOCK_QUOTES.length();
+        }
+        if (nested > 0) {
+            add(kindList, KIND_BLOCK_QUOTES, new EditToken(new MDQuoteSpan(mBlockQuotesColor, nested), start, end));
+        }
+    }
+
+    /**
+     * "  1. content", "  * content", "  - content", "  + content", but not "- [ ] content"
+     */
+    private void scanList(@NonNull CharSequence text, int start, int end, int kinds, List<List<EditToken>> kindList) {
+        int i = start;
+        while (i < end && text.charAt(i) == ' ') {
+            i++;
+        }
+        final int nested = (i - start) / SyntaxKey.KEY_LIST_HEADER.length();
+        if (i >= end) {
+            return;
+        }
+        char c = text.charAt(i);
+        if (Character.isDigit(c)) {
+            if ((kinds & KIND_ORDER_LIST) == 0) {
+                return;
+            }
+            int digitEnd = i;
+            while (digitEnd < end && Character.isDigit(text.charAt(digitEnd))) {
+                digitEnd++;
+            }
+            if (digitEnd + 1 >= end || text.charAt(digitEnd) != SyntaxKey.DOT || text.charAt(digitEnd + 1) != ' ') {
+                return;
+            }
+            //the number is counted after the nested keys, odd spaces make it illegal
+            int number = -1;
+            if ((i - start) % SyntaxKey.KEY_LIST_HEADER.length() == 0) {
+                number = 0;
+                for (int j = i; j < digitEnd; j++) {
+                    number = number * 10 + (text.charAt(j) - '0');
+                }
+            }
+            add(kindList, KIND_ORDER_LIST, new EditToken(new MDOrderListSpan(LIST_MARGIN, nested, number), start, end, Spannable.SPAN_INCLUSIVE_INCLUSIVE));
+        } else if (c == '*' || c == '-' || c == '+') {
+            if ((kinds & KIND_UNORDER_LIST) == 0 || i + 1 >= end || text.charAt(i + 1) != ' ' || isTodo(text, i, end)) {
+                return;
+            }
+            int type = c == '*' ? MDUnOrderListSpan.TYPE_KEY_0 : (c == '-' ? MDUnOrderListSpan.TYPE_KEY_1 : MDUnOrderListSpan.TYPE_KEY_2);
+            add(kindList, KIND_UNORDER_LIST, new EditToken(new MDUnOrderListSpan(LIST_MARGIN, mUnOrderListColor, nested, type), start, end, Spannable.SPAN_INCLUSIVE_INCLUSIVE));
+        }
+    }
+
+    /**
+     * "- [ ]", "- [x]", "- [X]", "* [ ]", "* [x]", "* [X]"
+     */
+    private static boolean isTodo(@NonNull CharSequence text, int position, int end) {
+        if (position + SyntaxKey.IGNORE_LIST_HYPHEN.length() > end || text.charAt(position) == '+') {
+            return false;
+        }
+        char c = text.charAt(position + 3);
+        return text.charAt(position + 2) == '[' && text.charAt(position + 4) == ']' && (c == ' ' || c == 'x' || c == 'X');
+    }
+
+    private static void add(List<List<EditToken>> kindList, int kind, EditToken editToken) {
+        kindList.get(Integer.numberOfTrailingZeros(kind)).add(editToken);
+    }
+}
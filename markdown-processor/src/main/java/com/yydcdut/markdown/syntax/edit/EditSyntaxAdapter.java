@@ -16,10 +16,15 @@
 package com.yydcdut.markdown.syntax.edit;
 
 import android.support.annotation.NonNull;
+import android.text.Editable;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.live.EditToken;
 import com.yydcdut.markdown.syntax.Syntax;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Provide some common methods.
  * Adapter some methods.
@@ -41,4 +46,23 @@ abstract class EditSyntaxAdapter implements Syntax {
     public CharSequence format(@NonNull CharSequence charSequence, int lineNumber) {
         return charSequence;
     }
+
+    /**
+     * get the {@link EditToken}s in the lines between start and end
+     *
+     * @param editable the content
+     * @param start    the start position of lines
+     * @param end      the end position of lines
+     * @return the {@link EditToken}s
+     */
+    @NonNull
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        List<EditToken> editTokenList = new ArrayList<>();
+        for (EditToken editToken : format(editable)) {
+            if (editToken.getStart() >= start && editToken.getEnd() <= end) {
+                editTokenList.add(editToken);
+            }
+        }
+        return editTokenList;
+    }
 }
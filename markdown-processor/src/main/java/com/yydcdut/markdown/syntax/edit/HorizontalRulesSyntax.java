@@ -20,10 +20,7 @@ import android.text.Editable;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
-import com.yydcdut.markdown.span.MDHorizontalRulesSpan;
-import com.yydcdut.markdown.utils.SyntaxUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,30 +36,23 @@ import java.util.List;
  * <p>
  * Created by yuyidong on 16/7/7.
  */
-class HorizontalRulesSyntax extends EditSyntaxAdapter implements SyntaxUtils.OnWhatSpanCallback {
-    private static final String PATTERN_ASTERISK = "^\\*{3,}$";
-    private static final String PATTERN_HYPHEN = "^\\-{3,}$";
-
-    private int mColor;
-    private int mHeight;
+class HorizontalRulesSyntax extends EditSyntaxAdapter {
+    private final EditLexer mEditLexer;
 
     public HorizontalRulesSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         super(markdownConfiguration);
-        mColor = markdownConfiguration.getHorizontalRulesColor();
-        mHeight = markdownConfiguration.getHorizontalRulesHeight();
+        mEditLexer = new EditLexer(markdownConfiguration);
     }
 
     @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
-        List<EditToken> editTokenList = new ArrayList<>();
-        editTokenList.addAll(SyntaxUtils.parse(editable, PATTERN_ASTERISK, this));
-        editTokenList.addAll(SyntaxUtils.parse(editable, PATTERN_HYPHEN, this));
-        return editTokenList;
+        return mEditLexer.scan(editable, EditLexer.KIND_HORIZONTAL_RULES);
     }
 
+    @NonNull
     @Override
-    public Object whatSpan() {
-        return new MDHorizontalRulesSpan(mColor, mHeight);
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_HORIZONTAL_RULES);
     }
 }
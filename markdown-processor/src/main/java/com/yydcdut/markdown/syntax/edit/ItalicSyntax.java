@@ -15,17 +15,12 @@
  */
 package com.yydcdut.markdown.syntax.edit;
 
-import android.graphics.Typeface;
 import android.support.annotation.NonNull;
-import android.support.annotation.Nullable;
 import android.text.Editable;
-import android.text.style.StyleSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
-import com.yydcdut.markdown.utils.SyntaxUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,25 +31,23 @@ import java.util.List;
  * <p>
  * Created by yuyidong on 16/6/29.
  */
-class ItalicSyntax extends EditSyntaxAdapter implements SyntaxUtils.OnWhatSpanCallback {
-    private static final String PATTERN_ASTERISK = "(\\*)(.*?)(\\*)";
-    private static final String PATTERN_UNDERLINE = "(_)(.*?)(_)";
+class ItalicSyntax extends EditSyntaxAdapter {
+    private final EditLexer mEditLexer;
 
     public ItalicSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         super(markdownConfiguration);
+        mEditLexer = new EditLexer(markdownConfiguration);
     }
 
-    @Nullable
+    @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
-        List<EditToken> editTokenList = new ArrayList<>();
-        editTokenList.addAll(SyntaxUtils.parse(editable, PATTERN_ASTERISK, this));
-        editTokenList.addAll(SyntaxUtils.parse(editable, PATTERN_UNDERLINE, this));
-        return editTokenList;
+        return mEditLexer.scan(editable, EditLexer.KIND_ITALIC);
     }
 
+    @NonNull
     @Override
-    public Object whatSpan() {
-        return new StyleSpan(Typeface.ITALIC);
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_ITALIC);
     }
 }
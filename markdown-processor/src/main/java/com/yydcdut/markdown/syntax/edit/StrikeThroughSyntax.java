@@ -16,13 +16,10 @@
 package com.yydcdut.markdown.syntax.edit;
 
 import android.support.annotation.NonNull;
-import android.support.annotation.Nullable;
 import android.text.Editable;
-import android.text.style.StrikethroughSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.live.EditToken;
-import com.yydcdut.markdown.utils.SyntaxUtils;
 
 import java.util.List;
 
@@ -33,21 +30,23 @@ import java.util.List;
  * <p>
  * Created by yuyidong on 16/6/30.
  */
-class StrikeThroughSyntax extends EditSyntaxAdapter implements SyntaxUtils.OnWhatSpanCallback {
-    private static final String PATTERN = "(~~)(.*?)(~~)";
+class StrikeThroughSyntax extends EditSyntaxAdapter {
+    private final EditLexer mEditLexer;
 
     public StrikeThroughSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         super(markdownConfiguration);
+        mEditLexer = new EditLexer(markdownConfiguration);
     }
 
-    @Nullable
+    @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
-        return SyntaxUtils.parse(editable, PATTERN, this);
+        return mEditLexer.scan(editable, EditLexer.KIND_STRIKE_THROUGH);
     }
 
+    @NonNull
     @Override
-    public Object whatSpan() {
-        return new StrikethroughSpan();
+    List<EditToken> format(@NonNull Editable editable, int start, int end) {
+        return mEditLexer.scan(editable, start, end, EditLexer.KIND_STRIKE_THROUGH);
     }
 }
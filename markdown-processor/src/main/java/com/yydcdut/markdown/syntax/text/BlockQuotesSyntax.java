@@ -16,16 +16,20 @@
 package com.yydcdut.markdown.syntax.text;
 
 import android.support.annotation.NonNull;
+import android.text.Editable;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
-import android.text.style.RelativeSizeSpan;
+import android.text.TextUtils;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
-import com.yydcdut.markdown.span.MDQuoteBackgroundSpan;
-import com.yydcdut.markdown.span.MDQuoteSpan;
+import com.yydcdut.markdown.live.EditToken;
+import com.yydcdut.markdown.span.MDQuoteBlockSpan;
+import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 import com.yydcdut.markdown.utils.SyntaxUtils;
+import com.yydcdut.markdown.utils.TextHelper;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,9 +37,12 @@ import java.util.List;
  * syntax:
  * "> "
  * <p>
+ * The whole content is scanned once, the nested number of every line is kept in an int array,
+ * and one {@link MDQuoteBlockSpan} is set for each run of continuous lines with the same nested number.
+ * <p>
  * Created by yuyidong on 16/5/4.
  */
-class BlockQuotesSyntax extends TextSyntaxAdapter {
+class BlockQuotesSyntax implements Syntax {
 
     private final float mRelativeSize;
     private final List<Integer> bgColorList;
@@ -43,80 +50,113 @@ class BlockQuotesSyntax extends TextSyntaxAdapter {
     private int mColor;
 
     public BlockQuotesSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
-        super(markdownConfiguration);
         mColor = markdownConfiguration.getBlockQuotesLineColor();
         mRelativeSize = markdownConfiguration.getBlockQuoteRelativeSize();
         bgColorList = markdownConfiguration.getBlockQuoteBgColor();
     }
 
     @Override
-    boolean isMatch(@NonNull String text) {
-        return text.startsWith(SyntaxKey.KEY_BLOCK_QUOTES);
-    }
-
-    @NonNull
-    @Override
-    boolean encode(@NonNull SpannableStringBuilder ssb) {
+    public boolean isMatch(@NonNull CharSequence charSequence) {
+        if (TextUtils.isEmpty(charSequence)) {
+            return false;
+        }
+        final int length = charSequence.length();
+        for (int i = 0; i < length - 1; i = TextHelper.findNextNewLineCharCompat(charSequence, i) + 1) {
+            if (charSequence.charAt(i) == '>' && charSequence.charAt(i + 1) == ' ') {
+                return true;
+            }
+        }
         return false;
     }
 
     @NonNull
     @Override
-    SpannableStringBuilder format(@NonNull SpannableStringBuilder ssb, int lineNumber) {
-        int nested = calculateNested(ssb.toString());
-        if (nested == 0) {
-            return ssb;
-        }
-
-        // calculate the first non-blockquote and non-whitespace character
-        int i = 0;
-        while (i < ssb.length()) {
-            if (ssb.charAt(i) == '>' || ssb.charAt(i) == ' ') {
-                i++;
-            } else {
-                break;
-            }
-        }
-
-        final int number = i / 2;
-        for (int n = 0; n < number; n++) {
-            ssb.replace(2 * n, 2 * (n + 1), "  ");
+    public CharSequence format(@NonNull CharSequence charSequence, int lineNumber) {
+        if (!(charSequence instanceof SpannableStringBuilder)) {
+            return charSequence;
         }
-
-        ssb.setSpan(new MDQuoteSpan(mColor, nested), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE | (2 << Spanned.SPAN_PRIORITY_SHIFT));
-        ssb.setSpan(new MDQuoteBackgroundSpan(nested, bgColorList), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE | (1 << Spanned.SPAN_PRIORITY_SHIFT));
-        if (mRelativeSize != 1f) {
-            ssb.setSpan(new RelativeSizeSpan(mRelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        SpannableStringBuilder ssb = (SpannableStringBuilder) charSequence;
+        final int length = ssb.length();
+        final int linesCount = TextHelper.getLinesCount(ssb);
+        int[] nestedArray = new int[linesCount];
+        int[] lineStarts = new int[linesCount];
+        int[] lineEnds = new int[linesCount];
+        int line = 0;
+        int start = 0;
+        while (start <= length) {
+            int end = TextHelper.findNextNewLineCharCompat(ssb, start);
+            lineStarts[line] = start;
+            lineEnds[line] = end;
+            nestedArray[line] = formatLine(ssb, start, end);
+            line++;
+            start = end + 1;
         }
-        SyntaxUtils.marginSSBLeft(ssb, 32);
+        setSpans(ssb, nestedArray, lineStarts, lineEnds, line);
         return ssb;
     }
 
     /**
-     * calculate nested, one "> ", nest++
+     * calculate the nested number of the line, and replace the key words of block quotes with place holder.
+     * The length of content does not change, so the positions of other lines are still right.
      *
-     * @param text the content
-     * @return nested number of content
+     * @param ssb   the whole content
+     * @param start the start position of the line
+     * @param end   the end position of the line, exclusive of the '\n'
+     * @return the nested number, 0 means it is not block quotes
      */
-    private static int calculateNested(@NonNull String text) {//有一个 "> " 就算嵌套一层
+    int formatLine(@NonNull SpannableStringBuilder ssb, int start, int end) {
+        if (end - start < SyntaxKey.KEY_BLOCK_QUOTES.length() || ssb.charAt(start) != '>' || ssb.charAt(start + 1) != ' ') {
+            return 0;
+        }
+        if (SyntaxUtils.existCodeBlockSpan(ssb, start, end)) {
+            return 0;
+        }
+        //有一个 "> " 就算嵌套一层
         int nested = 0;
-        int i = 0;
-        while (i < text.length()) {
-            if (text.charAt(i) == '>') {
-                ++nested;
-            } else {
+        int i = start;
+        while (i < end) {
+            char c = ssb.charAt(i);
+            if (c == '>') {
+                nested++;
+            } else if (c != ' ') {
                 break;
             }
             i++;
-            while (i < text.length() && text.charAt(i) == ' ') {
-                i++;
-            }
         }
+        final int number = (i - start) / 2;
+        ssb.replace(start, start + 2 * number, TextHelper.getPlaceHolder(2 * number));
         return nested;
     }
 
+    /**
+     * set one span for each run of continuous lines with the same nested number
+     *
+     * @param ssb         the content
+     * @param nestedArray the nested number of lines
+     * @param lineStarts  the start positions of lines in content
+     * @param lineEnds    the end positions of lines in content, exclusive of the '\n'
+     * @param linesCount  the number of lines
+     */
+    void setSpans(@NonNull SpannableStringBuilder ssb, @NonNull int[] nestedArray, @NonNull int[] lineStarts, @NonNull int[] lineEnds, int linesCount) {
+        int line = 0;
+        while (line < linesCount) {
+            int nested = nestedArray[line];
+            if (nested == 0) {
+                line++;
+                continue;
+            }
+            int last = line;
+            while (last + 1 < linesCount && nestedArray[last + 1] == nested) {
+                last++;
+            }
+            ssb.setSpan(new MDQuoteBlockSpan(mColor, nested, mRelativeSize, bgColorList), lineStarts[line], lineEnds[last], Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            line = last + 1;
+        }
+    }
+
     @NonNull
     @Override
-    void decode(@NonNull SpannableStringBuilder ssb) {
+    public List<EditToken> format(@NonNull Editable editable) {
+        return new ArrayList<>();
     }
 }
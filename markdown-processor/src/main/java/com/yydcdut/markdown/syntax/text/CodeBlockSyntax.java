@@ -34,6 +34,9 @@ import com.yydcdut.markdown.utils.TextHelper;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
+
+import syntaxhighlight.TokenStream;
 
 /**
  * The implementation of syntax for code block.
@@ -75,15 +78,17 @@ class CodeBlockSyntax implements Syntax {
         SpannableStringBuilder ssb = (SpannableStringBuilder) charSequence;
         String text = charSequence.toString();
         List<Pair<Integer, Integer>> list = TextHelper.find(text, SyntaxKey.KEY_CODE_BLOCK);
+        mPrettifyHighLighter.resetBudget();
+        List<Future<TokenStream>> parsingList = null;
+        if (mPrettifyHighLighter.isParallel() && list.size() > 1) {
+            parsingList = parseAsync(ssb, text, list);
+        }
         for (int i = list.size() - 1; i >= 0; i--) {
             Pair<Integer, Integer> pair = list.get(i);
             int start = pair.first;
             int end = pair.second;
             List<Integer> middleList = TextHelper.getNewLineCharPosition(ssb, start, end);
-            String language = "";
-            if (middleList.size() > 0) {
-                language = ssb.subSequence(TextHelper.safePosition(start, ssb), TextHelper.safePosition(middleList.get(0), ssb)).toString().replace(SyntaxKey.KEY_CODE_BLOCK, "").replace("\n", "");
-            }
+            String language = getLanguage(ssb, start, middleList);
             int current = middleList.get(0) + 1;
             for (int j = 1; j < middleList.size(); j++) {//放弃0，因为0是```java这样的
                 int position = middleList.get(j);
@@ -98,7 +103,11 @@ class CodeBlockSyntax implements Syntax {
                 current = position + 1;
             }
             if (!TextUtils.equals("", language)) {
-                mPrettifyHighLighter.highLight(language, ssb, start, end);
+                if (parsingList != null && parsingList.get(i) != null) {
+                    mPrettifyHighLighter.highLight(language, ssb, start, end, parsingList.get(i));
+                } else {
+                    mPrettifyHighLighter.highLight(language, ssb, start, end);
+                }
             } else {
                 current = middleList.get(0) + 1;
                 for (int j = 1; j < middleList.size(); j++) {//放弃0，因为0是```java这样的
@@ -113,6 +122,43 @@ class CodeBlockSyntax implements Syntax {
         return ssb;
     }
 
+    /**
+     * parse the code blocks in parallel, the code is the same as highlighting one by one, the empty lines are replaced with " "
+     *
+     * @return the parsing of each code block, null if the code block isn't highlighted
+     */
+    private List<Future<TokenStream>> parseAsync(SpannableStringBuilder ssb, String text, List<Pair<Integer, Integer>> list) {
+        List<Future<TokenStream>> parsingList = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            int start = list.get(i).first;
+            int end = list.get(i).second;
+            List<Integer> middleList = TextHelper.getNewLineCharPosition(ssb, start, end);
+            String language = getLanguage(ssb, start, middleList);
+            if (TextUtils.equals("", language)) {
+                parsingList.add(null);
+                continue;
+            }
+            char[] code = text.substring(start, end).toCharArray();
+            int current = middleList.get(0) + 1;
+            for (int j = 1; j < middleList.size(); j++) {
+                int position = middleList.get(j);
+                if (position == current) {
+                    code[position - 1 - start] = ' ';
+                }
+                current = position + 1;
+            }
+            parsingList.add(mPrettifyHighLighter.parseAsync(language, new String(code)));
+        }
+        return parsingList;
+    }
+
+    private static String getLanguage(SpannableStringBuilder ssb, int start, List<Integer> middleList) {
+        if (middleList.size() == 0) {
+            return "";
+        }
+        return ssb.subSequence(TextHelper.safePosition(start, ssb), TextHelper.safePosition(middleList.get(0), ssb)).toString().replace(SyntaxKey.KEY_CODE_BLOCK, "").replace("\n", "");
+    }
+
     @NonNull
     @Override
     public List<EditToken> format(@NonNull Editable editable) {
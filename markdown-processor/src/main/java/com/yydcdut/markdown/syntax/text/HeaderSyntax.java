@@ -16,12 +16,22 @@
 package com.yydcdut.markdown.syntax.text;
 
 import android.support.annotation.NonNull;
+import android.text.Editable;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
+import android.text.TextUtils;
 import android.text.style.RelativeSizeSpan;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.live.EditToken;
+import com.yydcdut.markdown.span.MDBaseListSpan;
+import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxKey;
+import com.yydcdut.markdown.utils.SyntaxUtils;
+import com.yydcdut.markdown.utils.TextHelper;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The implementation of syntax for header.
@@ -38,71 +48,177 @@ import com.yydcdut.markdown.syntax.SyntaxKey;
  * <p>
  * "###### " for h6
  * <p>
+ * "content
+ * ===" for h1
+ * <p>
+ * "content
+ * ---" for h2, the content can't be a horizontal rule
+ * <p>
+ * The leading '#' of line are counted only once, the level is the number of '#'.
+ * <p>
  * Created by yuyidong on 16/5/20.
  */
-class HeaderSyntax extends TextSyntaxAdapter {
+class HeaderSyntax implements Syntax {
+    private static final int MAX_LEVEL = 6;
+    private static final char KEY_SETEXT_1 = '=';
+    private static final char KEY_SETEXT_2 = '-';
 
-    private float mHeader1RelativeSize;
-    private float mHeader2RelativeSize;
-    private float mHeader3RelativeSize;
-    private float mHeader4RelativeSize;
-    private float mHeader5RelativeSize;
-    private float mHeader6RelativeSize;
+    private final float[] mRelativeSizes;
 
     public HeaderSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
-        super(markdownConfiguration);
-        mHeader1RelativeSize = markdownConfiguration.getHeader1RelativeSize();
-        mHeader2RelativeSize = markdownConfiguration.getHeader2RelativeSize();
-        mHeader3RelativeSize = markdownConfiguration.getHeader3RelativeSize();
-        mHeader4RelativeSize = markdownConfiguration.getHeader4RelativeSize();
-        mHeader5RelativeSize = markdownConfiguration.getHeader5RelativeSize();
-        mHeader6RelativeSize = markdownConfiguration.getHeader6RelativeSize();
+        mRelativeSizes = new float[]{
+                markdownConfiguration.getHeader1RelativeSize(),
+                markdownConfiguration.getHeader2RelativeSize(),
+                markdownConfiguration.getHeader3RelativeSize(),
+                markdownConfiguration.getHeader4RelativeSize(),
+                markdownConfiguration.getHeader5RelativeSize(),
+                markdownConfiguration.getHeader6RelativeSize()};
     }
 
     @Override
-    boolean isMatch(@NonNull String text) {
-        return text.startsWith(SyntaxKey.KEY_0_HEADER)
-                || text.startsWith(SyntaxKey.KEY_1_HEADER)
-                || text.startsWith(SyntaxKey.KEY_2_HEADER)
-                || text.startsWith(SyntaxKey.KEY_3_HEADER)
-                || text.startsWith(SyntaxKey.KEY_4_HEADER)
-                || text.startsWith(SyntaxKey.KEY_5_HEADER);
-    }
-
-    @NonNull
-    @Override
-    boolean encode(@NonNull SpannableStringBuilder ssb) {
+    public boolean isMatch(@NonNull CharSequence charSequence) {
+        if (TextUtils.isEmpty(charSequence)) {
+            return false;
+        }
+        final int length = charSequence.length();
+        for (int i = 0; i < length; i = TextHelper.findNextNewLineCharCompat(charSequence, i) + 1) {
+            int end = TextHelper.findNextNewLineCharCompat(charSequence, i);
+            if (getLevel(charSequence, i, end) > 0
+                    || (end < length && !HorizontalRulesSyntax.isHorizontalRules(charSequence, i, end) && getSetextLevel(charSequence, end + 1) > 0)) {
+                return true;
+            }
+        }
         return false;
     }
 
     @NonNull
     @Override
-    SpannableStringBuilder format(@NonNull SpannableStringBuilder ssb, int lineNumber) {
-        String text = ssb.toString();
-        if (text.startsWith(SyntaxKey.KEY_5_HEADER)) {
-            ssb.delete(0, SyntaxKey.KEY_5_HEADER.length());
-            ssb.setSpan(new RelativeSizeSpan(mHeader6RelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        } else if (text.startsWith(SyntaxKey.KEY_4_HEADER)) {
-            ssb.delete(0, SyntaxKey.KEY_4_HEADER.length());
-            ssb.setSpan(new RelativeSizeSpan(mHeader5RelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        } else if (text.startsWith(SyntaxKey.KEY_3_HEADER)) {
-            ssb.delete(0, SyntaxKey.KEY_3_HEADER.length());
-            ssb.setSpan(new RelativeSizeSpan(mHeader4RelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        } else if (text.startsWith(SyntaxKey.KEY_2_HEADER)) {
-            ssb.delete(0, SyntaxKey.KEY_2_HEADER.length());
-            ssb.setSpan(new RelativeSizeSpan(mHeader3RelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        } else if (text.startsWith(SyntaxKey.KEY_1_HEADER)) {
-            ssb.delete(0, SyntaxKey.KEY_1_HEADER.length());
-            ssb.setSpan(new RelativeSizeSpan(mHeader2RelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        } else if (text.startsWith(SyntaxKey.KEY_0_HEADER)) {
-            ssb.delete(0, SyntaxKey.KEY_0_HEADER.length());
-            ssb.setSpan(new RelativeSizeSpan(mHeader1RelativeSize), 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    public CharSequence format(@NonNull CharSequence charSequence, int lineNumber) {
+        if (!(charSequence instanceof SpannableStringBuilder)) {
+            return charSequence;
+        }
+        SpannableStringBuilder ssb = (SpannableStringBuilder) charSequence;
+        int start = 0;
+        while (start <= ssb.length()) {
+            formatLine(ssb, start, TextHelper.findNextNewLineCharCompat(ssb, start));
+            start = TextHelper.findNextNewLineCharCompat(ssb, start) + 1;
         }
         return ssb;
     }
 
+    /**
+     * format the line if it is a header.
+     * The key words of header are deleted, for setext header the next line is deleted,
+     * so only the content after the line changes.
+     *
+     * @param ssb   the whole content
+     * @param start the start position of the line
+     * @param end   the end position of the line, exclusive of the '\n'
+     * @return the level of header, 0 means it is not header
+     */
+    int formatLine(@NonNull SpannableStringBuilder ssb, int start, int end) {
+        int level = getLevel(ssb, start, end);
+        if (level > 0) {
+            if (SyntaxUtils.existCodeBlockSpan(ssb, start, end)) {
+                return 0;
+            }
+            int keyStart = ssb.charAt(start) == SyntaxKey.KEY_CENTER_ALIGN_LEFT.charAt(0) ? start + 1 : start;
+            ssb.delete(keyStart, keyStart + level + 1);
+            end -= level + 1;
+            ssb.setSpan(new RelativeSizeSpan(mRelativeSizes[level - 1]), start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            return level;
+        }
+        //"---\n---" and "***\n---" are two horizontal rules
+        if (end >= ssb.length() || isBlank(ssb, start, end) || ssb.charAt(start) == SyntaxKey.PLACE_HOLDER_TABLE.charAt(0)
+                || HorizontalRulesSyntax.isHorizontalRules(ssb, start, end)) {
+            return 0;
+        }
+        level = getSetextLevel(ssb, end + 1);
+        if (level == 0) {
+            return 0;
+        }
+        int nextEnd = TextHelper.findNextNewLineCharCompat(ssb, end + 1);
+        if (SyntaxUtils.existCodeBlockSpan(ssb, start, nextEnd)
+                || ssb.getSpans(start, end, MDBaseListSpan.class).length > 0) {
+            return 0;
+        }
+        ssb.delete(end, nextEnd);
+        ssb.setSpan(new RelativeSizeSpan(mRelativeSizes[level - 1]), start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        return level;
+    }
+
+    /**
+     * get the level of header by counting the leading '#', "[# content]" is supported for center align
+     *
+     * @param text  the content
+     * @param start the start position of the line
+     * @param end   the end position of the line
+     * @return the level of header, 0 means it is not header
+     */
+    private static int getLevel(@NonNull CharSequence text, int start, int end) {
+        if (start >= end) {
+            return 0;
+        }
+        int keyStart = start;
+        if (text.charAt(start) == SyntaxKey.KEY_CENTER_ALIGN_LEFT.charAt(0)
+                && text.charAt(end - 1) == SyntaxKey.KEY_CENTER_ALIGN_RIGHT.charAt(0)) {
+            keyStart++;
+        }
+        if (keyStart >= end || text.charAt(keyStart) != SyntaxKey.KEY_HEADER_SINGLE.charAt(0)) {
+            return 0;
+        }
+        int i = keyStart + 1;
+        while (i < end && text.charAt(i) == SyntaxKey.KEY_HEADER_SINGLE.charAt(0)) {
+            i++;
+        }
+        final int level = i - keyStart;
+        if (level > MAX_LEVEL || i >= end || text.charAt(i) != ' ') {
+            return 0;
+        }
+        return level;
+    }
+
+    private static boolean isBlank(@NonNull CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * get the level of setext header from the underline, "===" for h1 and "---" for h2
+     *
+     * @param text  the content
+     * @param start the start position of the underline
+     * @return the level of header, 0 means it is not underline
+     */
+    private static int getSetextLevel(@NonNull CharSequence text, int start) {
+        final int length = text.length();
+        if (start >= length) {
+            return 0;
+        }
+        char key = text.charAt(start);
+        if (key != KEY_SETEXT_1 && key != KEY_SETEXT_2) {
+            return 0;
+        }
+        int i = start + 1;
+        while (i < length && text.charAt(i) == key) {
+            i++;
+        }
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+        if (i < length && text.charAt(i) != '\n') {
+            return 0;
+        }
+        return key == KEY_SETEXT_1 ? 1 : 2;
+    }
+
     @NonNull
     @Override
-    void decode(@NonNull SpannableStringBuilder ssb) {
+    public List<EditToken> format(@NonNull Editable editable) {
+        return new ArrayList<>();
     }
 }
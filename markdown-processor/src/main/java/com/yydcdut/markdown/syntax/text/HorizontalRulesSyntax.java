@@ -80,6 +80,30 @@ class HorizontalRulesSyntax extends TextSyntaxAdapter {
     void decode(@NonNull SpannableStringBuilder ssb) {
     }
 
+    /**
+     * whether the line is a horizontal rule, the same as {@link #isMatch(String)}
+     *
+     * @param text  the content
+     * @param start the start position of the line
+     * @param end   the end position of the line
+     * @return TRUE: horizontal rule
+     */
+    static boolean isHorizontalRules(@NonNull CharSequence text, int start, int end) {
+        if (end - start < SyntaxKey.KEY_HORIZONTAL_RULES_ASTERISK.length()) {
+            return false;
+        }
+        char key = text.charAt(start);
+        if (key != SyntaxKey.KEY_HORIZONTAL_RULES_ASTERISK_SINGLE && key != SyntaxKey.KEY_HORIZONTAL_RULES_HYPHEN_SINGLE) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            if (text.charAt(i) != key) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * check whether it's the same character
      *
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.syntax.text;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.Editable;
+import android.text.Layout;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextUtils;
+
+import com.yydcdut.markdown.MarkdownConfiguration;
+import com.yydcdut.markdown.live.EditToken;
+import com.yydcdut.markdown.span.MDTableSpan;
+import com.yydcdut.markdown.syntax.Syntax;
+import com.yydcdut.markdown.syntax.SyntaxKey;
+import com.yydcdut.markdown.utils.SyntaxUtils;
+import com.yydcdut.markdown.utils.TextHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The implementation of syntax for table(GitHub flavored).
+ * syntax:
+ * "| header | header |"
+ * "| :----- | -----: |"
+ * "| cell   | cell   |"
+ * <p>
+ * The header, the alignment row and the cells are parsed in one pass,
+ * the whole table is replaced with a place holder and drawn by one {@link MDTableSpan}.
+ */
+class TableSyntax implements Syntax {
+
+    private final int mBorderColor;
+
+    public TableSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
+        mBorderColor = markdownConfiguration.getHorizontalRulesColor();
+    }
+
+    @Override
+    public boolean isMatch(@NonNull CharSequence charSequence) {
+        if (TextUtils.isEmpty(charSequence)) {
+            return false;
+        }
+        final int length = charSequence.length();
+        for (int i = 0; i < length; i++) {
+            if (charSequence.charAt(i) == SyntaxKey.KEY_TABLE_SEPARATOR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public CharSequence format(@NonNull CharSequence charSequence, int lineNumber) {
+        if (!(charSequence instanceof SpannableStringBuilder)) {
+            return charSequence;
+        }
+        SpannableStringBuilder ssb = (SpannableStringBuilder) charSequence;
+        String text = ssb.toString();
+        final int length = text.length();
+        List<TableBean> list = new ArrayList<>();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = TextHelper.findNextNewLineCharCompat(text, lineStart);
+            TableBean bean = parseTable(ssb, text, lineStart, lineEnd);
+            if (bean != null) {
+                list.add(bean);
+                lineStart = bean.end + 1;
+            } else {
+                lineStart = lineEnd + 1;
+            }
+        }
+        for (int i = list.size() - 1; i >= 0; i--) {
+            TableBean bean = list.get(i);
+            ssb.replace(bean.start, bean.end, SyntaxKey.PLACE_HOLDER_TABLE);
+            ssb.setSpan(new MDTableSpan(bean.cells, bean.alignments, mBorderColor),
+                    bean.start, bean.start + SyntaxKey.PLACE_HOLDER_TABLE.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+        return ssb;
+    }
+
+    /**
+     * parse the table whose header is the line
+     *
+     * @param ssb       the content
+     * @param text      the string of content
+     * @param lineStart the start position of header line
+     * @param lineEnd   the end position of header line
+     * @return the table, null if it is not a table
+     */
+    @Nullable
+    private static TableBean parseTable(@NonNull SpannableStringBuilder ssb, @NonNull String text, int lineStart, int lineEnd) {
+        final int length = text.length();
+        if (lineEnd + 1 >= length || !isTableRow(ssb, text, lineStart, lineEnd)) {
+            return null;
+        }
+        int alignStart = lineEnd + 1;
+        int alignEnd = TextHelper.findNextNewLineCharCompat(text, alignStart);
+        Layout.Alignment[] alignments = parseAlignments(text, alignStart, alignEnd);
+        if (alignments == null || SyntaxUtils.existCodeBlockSpan(ssb, alignStart, alignEnd)) {
+            return null;
+        }
+        List<String> header = splitRow(text, lineStart, lineEnd);
+        final int columns = alignments.length;
+        if (header.size() != columns) {
+            return null;
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(toCells(header, columns));
+        int tableEnd = alignEnd;
+        int rowStart = alignEnd + 1;
+        while (rowStart < length) {
+            int rowEnd = TextHelper.findNextNewLineCharCompat(text, rowStart);
+            if (!isTableRow(ssb, text, rowStart, rowEnd)) {
+                break;
+            }
+            rows.add(toCells(splitRow(text, rowStart, rowEnd), columns));
+            tableEnd = rowEnd;
+            rowStart = rowEnd + 1;
+        }
+        return new TableBean(lineStart, tableEnd, rows.toArray(new String[rows.size()][]), alignments);
+    }
+
+    /**
+     * the line is not blank, has separator and is not in code block
+     */
+    private static boolean isTableRow(@NonNull SpannableStringBuilder ssb, @NonNull String text, int start, int end) {
+        boolean hasSeparator = false;
+        boolean blank = true;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == SyntaxKey.KEY_TABLE_SEPARATOR && (i == start || text.charAt(i - 1) != '\\')) {
+                hasSeparator = true;
+            }
+            if (c != ' ' && c != '\t') {
+                blank = false;
+            }
+        }
+        return hasSeparator && !blank && !SyntaxUtils.existCodeBlockSpan(ssb, start, end);
+    }
+
+    /**
+     * parse the alignment row, such as "| :--- | :---: | ---: |"
+     *
+     * @return the alignments of columns, null if it is not an alignment row
+     */
+    @Nullable
+    private static Layout.Alignment[] parseAlignments(@NonNull String text, int start, int end) {
+        List<String> cells = splitRow(text, start, end);
+        final int size = cells.size();
+        if (size == 0) {
+            return null;
+        }
+        Layout.Alignment[] alignments = new Layout.Alignment[size];
+        for (int i = 0; i < size; i++) {
+            String cell = cells.get(i);
+            final int length = cell.length();
+            if (length == 0) {
+                return null;
+            }
+            boolean left = cell.charAt(0) == SyntaxKey.KEY_TABLE_ALIGN_COLON;
+            boolean right = cell.charAt(length - 1) == SyntaxKey.KEY_TABLE_ALIGN_COLON;
+            int hyphenStart = left ? 1 : 0;
+            int hyphenEnd = right ? length - 1 : length;
+            if (hyphenStart >= hyphenEnd) {
+                return null;
+            }
+            for (int j = hyphenStart; j < hyphenEnd; j++) {
+                if (cell.charAt(j) != SyntaxKey.KEY_TABLE_ALIGN_HYPHEN) {
+                    return null;
+                }
+            }
+            if (left && right) {
+                alignments[i] = Layout.Alignment.ALIGN_CENTER;
+            } else if (right) {
+                alignments[i] = Layout.Alignment.ALIGN_OPPOSITE;
+            } else {
+                alignments[i] = Layout.Alignment.ALIGN_NORMAL;
+            }
+        }
+        return alignments;
+    }
+
+    /**
+     * split the row into trimmed cells, the leading and trailing separators are optional, "\|" is not a separator
+     */
+    @NonNull
+    private static List<String> splitRow(@NonNull String text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start < end && text.charAt(start) == SyntaxKey.KEY_TABLE_SEPARATOR) {
+            start++;
+        }
+        if (end > start && text.charAt(end - 1) == SyntaxKey.KEY_TABLE_SEPARATOR
+                && (end - 2 < start || text.charAt(end - 2) != '\\')) {
+            end--;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < end && text.charAt(i + 1) == SyntaxKey.KEY_TABLE_SEPARATOR) {
+                cell.append(SyntaxKey.KEY_TABLE_SEPARATOR);
+                i++;
+            } else if (c == SyntaxKey.KEY_TABLE_SEPARATOR) {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (start < end) {
+            cells.add(cell.toString().trim());
+        }
+        return cells;
+    }
+
+    @NonNull
+    private static String[] toCells(@NonNull List<String> list, int columns) {
+        String[] cells = new String[columns];
+        final int size = list.size();
+        for (int i = 0; i < columns; i++) {
+            cells[i] = i < size ? list.get(i) : "";
+        }
+        return cells;
+    }
+
+    @NonNull
+    @Override
+    public List<EditToken> format(@NonNull Editable editable) {
+        return new ArrayList<>();
+    }
+
+    private static class TableBean {
+        private final int start;
+        private final int end;
+        private final String[][] cells;
+        private final Layout.Alignment[] alignments;
+
+        public TableBean(int start, int end, String[][] cells, Layout.Alignment[] alignments) {
+            this.start = start;
+            this.end = end;
+            this.cells = cells;
+            this.alignments = alignments;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.yydcdut.markdown.syntax.text;
 import android.support.annotation.NonNull;
 import android.text.Spannable;
 import android.text.SpannableStringBuilder;
+import android.text.Spanned;
 
 import com.yydcdut.markdown.MarkdownConfiguration;
 import com.yydcdut.markdown.chain.ISpecialChain;
@@ -25,10 +26,15 @@ import com.yydcdut.markdown.chain.MultiSyntaxChain;
 import com.yydcdut.markdown.chain.SyntaxChain;
 import com.yydcdut.markdown.chain.SyntaxDoElseChain;
 import com.yydcdut.markdown.chain.SyntaxMultiChains;
+import com.yydcdut.markdown.span.MDOutlineSpan;
+import com.yydcdut.markdown.syntax.Outline;
 import com.yydcdut.markdown.syntax.Syntax;
 import com.yydcdut.markdown.syntax.SyntaxFactory;
 import com.yydcdut.markdown.utils.TextHelper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This factory's purpose is parsing content <b>correctly</b>, as the same time, it destroys the integrity of the content.
  * This factory will delete the key words of markdown syntax in content.
@@ -41,6 +47,8 @@ public class TextFactory implements SyntaxFactory {
     private MarkdownConfiguration mMarkdownConfiguration;
     private ISpecialChain mLineChain;
     private ISpecialChain mTotalChain;
+    private BlockQuotesSyntax mBlockQuotesSyntax;
+    private HeaderSyntax mHeaderSyntax;
 
     private TextFactory() {
     }
@@ -139,6 +147,11 @@ public class TextFactory implements SyntaxFactory {
         return new CodeBlockSyntax(markdownConfiguration);
     }
 
+    @Override
+    public Syntax getTableSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
+        return new TableSyntax(markdownConfiguration);
+    }
+
     @Override
     public Syntax getBackslashSyntax(@NonNull MarkdownConfiguration markdownConfiguration) {
         return new BackslashSyntax(markdownConfiguration);
@@ -148,16 +161,17 @@ public class TextFactory implements SyntaxFactory {
         mMarkdownConfiguration = markdownConfiguration;
         mTotalChain = new MultiSyntaxChain(
                 getCodeBlockSyntax(markdownConfiguration),
+                getTableSyntax(markdownConfiguration),
                 getListSyntax(markdownConfiguration));
 
 //        getUnOrderListSyntax(markdownConfiguration),
 //                getOrderListSyntax(markdownConfiguration));
+        mBlockQuotesSyntax = new BlockQuotesSyntax(markdownConfiguration);
+        mHeaderSyntax = new HeaderSyntax(markdownConfiguration);
         mLineChain = new SyntaxChain(getHorizontalRulesSyntax(markdownConfiguration));
-        SyntaxDoElseChain blockQuitesChain = new SyntaxDoElseChain(getBlockQuotesSyntax(markdownConfiguration));
         SyntaxDoElseChain todoChain = new SyntaxDoElseChain(getTodoSyntax(markdownConfiguration));
         SyntaxDoElseChain todoDoneChain = new SyntaxDoElseChain(getTodoDoneSyntax(markdownConfiguration));
         SyntaxMultiChains centerAlignChain = new SyntaxMultiChains(getCenterAlignSyntax(markdownConfiguration));
-        SyntaxMultiChains headerChain = new SyntaxMultiChains(getHeaderSyntax(markdownConfiguration));
         MultiSyntaxChain multiChain = new MultiSyntaxChain(
                 getImageSyntax(markdownConfiguration),
                 getHyperLinkSyntax(markdownConfiguration),
@@ -168,10 +182,7 @@ public class TextFactory implements SyntaxFactory {
                 getFootnoteSyntax(markdownConfiguration));
         SyntaxChain backslashChain = new SyntaxChain(getBackslashSyntax(markdownConfiguration));
 
-        mLineChain.setNextHandleSyntax(blockQuitesChain);
-
-        blockQuitesChain.setNextHandleSyntax(todoChain);
-        blockQuitesChain.addNextHandleSyntax(multiChain);
+        mLineChain.setNextHandleSyntax(todoChain);
 
         todoChain.setNextHandleSyntax(todoDoneChain);
         todoChain.addNextHandleSyntax(multiChain);
@@ -179,7 +190,6 @@ public class TextFactory implements SyntaxFactory {
         todoDoneChain.setNextHandleSyntax(centerAlignChain);
         todoDoneChain.addNextHandleSyntax(multiChain);
 
-        centerAlignChain.addNextHandleSyntax(headerChain);
         centerAlignChain.addNextHandleSyntax(multiChain);
 
         multiChain.setNextHandleSyntax(backslashChain);
@@ -191,26 +201,57 @@ public class TextFactory implements SyntaxFactory {
         if (markdownConfiguration == null) {
             return charSequence;
         }
-        if (mTotalChain == null || mLineChain == null || mMarkdownConfiguration == null || mMarkdownConfiguration != markdownConfiguration) {
+        if (mTotalChain == null || mLineChain == null || mBlockQuotesSyntax == null || mHeaderSyntax == null || mMarkdownConfiguration == null || mMarkdownConfiguration != markdownConfiguration) {
             init(markdownConfiguration);
         }
         CharSequence standardLines = standardizeLineEndings(charSequence);
         SpannableStringBuilder ssb = new SpannableStringBuilder(standardLines);
         ssb = parseTotal(mTotalChain, ssb);
-        ssb = parseByLine(mLineChain, ssb);
+        final int linesCount = TextHelper.getLinesCount(ssb);
+        int[] nestedArray = new int[linesCount];
+        int[] levelArray = new int[linesCount];
+        parseBlocks(ssb, nestedArray, levelArray);
+        ssb = parseByLine(mLineChain, ssb, nestedArray, levelArray);
         return ssb;
     }
 
+    /**
+     * scan the content line by line only once before splitting into lines,
+     * mark the block quotes lines and format the header lines
+     *
+     * @param ssb         the content
+     * @param nestedArray the nested number of block quotes of every line
+     * @param levelArray  the level of header of every line
+     */
+    private void parseBlocks(SpannableStringBuilder ssb, int[] nestedArray, int[] levelArray) {
+        int line = 0;
+        int start = 0;
+        while (start <= ssb.length()) {
+            int end = TextHelper.findNextNewLineCharCompat(ssb, start);
+            nestedArray[line] = mBlockQuotesSyntax.formatLine(ssb, start, end);
+            if (nestedArray[line] == 0) {
+                levelArray[line] = mHeaderSyntax.formatLine(ssb, start, end);
+                if (levelArray[line] > 0) {
+                    end = TextHelper.findNextNewLineCharCompat(ssb, start);
+                }
+            }
+            line++;
+            start = end + 1;
+        }
+    }
+
     private SpannableStringBuilder parseTotal(ISpecialChain totalChain, SpannableStringBuilder ssb) {
         totalChain.handleSyntax(ssb, 0);
         return ssb;
     }
 
-    private SpannableStringBuilder parseByLine(ISpecialChain lineChain, SpannableStringBuilder content) {
+    private SpannableStringBuilder parseByLine(ISpecialChain lineChain, SpannableStringBuilder content, int[] nestedArray, int[] levelArray) {
         String text = content.toString();
         String[] lines = text.split(NEWLINE);
         final int linesCount = lines.length;
         SpannableStringBuilder[] ssbLines = new SpannableStringBuilder[linesCount];
+        int[] lineStarts = new int[linesCount];
+        int[] lineEnds = new int[linesCount];
         SpannableStringBuilder ssb = new SpannableStringBuilder();
         final int newLineLength = NEWLINE.length();
         int index = 0;
@@ -218,6 +259,8 @@ public class TextFactory implements SyntaxFactory {
             int lineLength = lines[line].length();
             ssbLines[line] = (SpannableStringBuilder) content.subSequence(TextHelper.safePosition(index, content), TextHelper.safePosition(index + lineLength, content));
             lineChain.handleSyntax(ssbLines[line], line);
+            lineStarts[line] = ssb.length();
+            lineEnds[line] = lineStarts[line] + ssbLines[line].length();
             index += lineLength;
             if (line < linesCount - 1) {
                 ssbLines[line].append(NEWLINE);
@@ -225,6 +268,14 @@ public class TextFactory implements SyntaxFactory {
             }
             ssb.append(ssbLines[line]);
         }
+        mBlockQuotesSyntax.setSpans(ssb, nestedArray, lineStarts, lineEnds, linesCount);
+        List<Outline> outlineList = new ArrayList<>();
+        for (int line = 0; line < linesCount; line++) {
+            if (levelArray[line] > 0) {
+                outlineList.add(new Outline(levelArray[line], ssbLines[line].toString().trim(), lineStarts[line], lineEnds[line]));
+            }
+        }
+        ssb.setSpan(new MDOutlineSpan(outlineList), 0, ssb.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
         return ssb;
     }
 
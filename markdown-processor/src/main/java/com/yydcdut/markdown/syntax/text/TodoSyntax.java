@@ -16,7 +16,6 @@
 package com.yydcdut.markdown.syntax.text;
 
 import android.support.annotation.NonNull;
-import android.text.SpannableString;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
 import android.view.View;
@@ -83,50 +82,12 @@ class TodoSyntax extends TextSyntaxAdapter implements OnTodoClickListener {
         if (ssbArray == null || ssbArray.length != 1) {
             return;
         }
-        int lineNumber = -1;
-        String line = null;
-        if (ssbArray[0] instanceof MDTodoDoneSpan) {
-            lineNumber = ssbArray[0].getLineNumber();
-            line = TextHelper.formatTodoLine(ssb, true);
-        } else if (ssbArray[0] instanceof MDTodoSpan) {
-            lineNumber = ssbArray[0].getLineNumber();
-            line = TextHelper.formatTodoLine(ssb, false);
-        } else {
-            return;
-        }
+        MDTodoSpan currentSpan = ssbArray[0];
+        int lineNumber = currentSpan.getLineNumber();
+        boolean isDone = currentSpan instanceof MDTodoDoneSpan;
+        String line = TextHelper.formatTodoLine(ssb, isDone);
         CharSequence charSequence = mOnTodoClickCallback.onTodoClicked(view, line, lineNumber);
-        if (!(charSequence instanceof SpannableString)) {
-            return;
-        }
-        SpannableString sb = (SpannableString) charSequence;
-        if (ssbArray[0] instanceof MDTodoDoneSpan) {
-            MDTodoDoneSpan mdTodoDoneSpan = (MDTodoDoneSpan) ssbArray[0];
-            int start = sb.getSpanStart(mdTodoDoneSpan);
-            int end = sb.getSpanEnd(mdTodoDoneSpan);
-            if (start < 0 || end < 0) {
-                return;
-            }
-            sb.removeSpan(mdTodoDoneSpan);
-            MDTodoSpan mdTodoSpan = new MDTodoSpan(mTodoColor, lineNumber);
-            sb.setSpan(mdTodoSpan, start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-
-            ssb.removeSpan(mdTodoDoneSpan);
-            ssb.setSpan(mdTodoSpan, 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        } else if (ssbArray[0] instanceof MDTodoSpan) {
-            MDTodoSpan mdTodoSpan = ssbArray[0];
-            int start = sb.getSpanStart(mdTodoSpan);
-            int end = sb.getSpanEnd(mdTodoSpan);
-            if (start < 0 || end < 0) {
-                return;
-            }
-            sb.removeSpan(mdTodoSpan);
-            MDTodoDoneSpan mdTodoDoneSpan = new MDTodoDoneSpan(mDoneColor, lineNumber);
-            sb.setSpan(mdTodoDoneSpan, start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-
-            ssb.removeSpan(mdTodoSpan);
-            ssb.setSpan(mdTodoDoneSpan, 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        }
+        MDTodoSpan toggledSpan = isDone ? new MDTodoSpan(mTodoColor, lineNumber) : new MDTodoDoneSpan(mDoneColor, lineNumber);
+        SyntaxUtils.toggleTodoOrDone(view, charSequence, ssb, currentSpan, toggledSpan);
     }
-
-
 }
@@ -15,29 +15,29 @@
  */
 package com.yydcdut.markdown.utils;
 
-import android.graphics.Bitmap;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.text.Editable;
 import android.text.Spannable;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
 import android.text.style.ClickableSpan;
-import android.text.style.ImageSpan;
 import android.text.style.LeadingMarginSpan;
 import android.text.style.TypefaceSpan;
 import android.text.style.URLSpan;
 import android.view.View;
+import android.widget.TextView;
 
 import com.yydcdut.markdown.callback.OnTodoClickListener;
 import com.yydcdut.markdown.live.EditToken;
 import com.yydcdut.markdown.span.MDCodeBlockSpan;
 import com.yydcdut.markdown.span.MDImageSpan;
+import com.yydcdut.markdown.span.MDTodoMarkerSpan;
+import com.yydcdut.markdown.span.MDTodoSpan;
 import com.yydcdut.markdown.syntax.SyntaxKey;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by yuyidong on 2018/4/29.
@@ -163,58 +163,6 @@ public class SyntaxUtils {
         return mdCodeBlockSpans != null && mdCodeBlockSpans.length > 0;
     }
 
-    /**
-     * parse the editable(spannable string) by pattern string
-     *
-     * @param editable   the spannable string
-     * @param pattern    the pattern string
-     * @param ignoreText the replace string
-     * @param callback   the callback to get span
-     * @return
-     */
-    public static List<EditToken> parse(@NonNull Editable editable, @NonNull String pattern, String ignoreText, OnWhatSpanCallback callback) {
-        StringBuilder content = new StringBuilder(editable.toString().replace(ignoreText, TextHelper.getPlaceHolder(ignoreText)));
-        return parse(content, pattern, callback);
-    }
-
-    /**
-     * parse the editable(spannable string) by pattern string
-     *
-     * @param editable the spannable string
-     * @param pattern  the pattern string
-     * @param callback the callback to get span
-     * @return the list of edit token
-     */
-    @NonNull
-    public static List<EditToken> parse(@NonNull Editable editable, @NonNull String pattern, OnWhatSpanCallback callback) {
-        StringBuilder content = new StringBuilder(editable);
-        return parse(content, pattern, callback);
-    }
-
-    /**
-     * parse the content by pattern string
-     *
-     * @param content  the content
-     * @param pattern  the pattern string
-     * @param callback the callback to get span
-     * @return the list of edit token
-     */
-    public static List<EditToken> parse(@NonNull StringBuilder content, @NonNull String pattern, OnWhatSpanCallback callback) {
-        List<EditToken> editTokenList = new ArrayList<>();
-        Matcher m = Pattern.compile(pattern, Pattern.MULTILINE).matcher(content);
-        List<String> matchList = new ArrayList<>();//找到的
-        while (m.find()) {
-            matchList.add(m.group());
-        }
-        for (String match : matchList) {
-            int index = content.indexOf(match);
-            int length = match.length();
-            editTokenList.add(new EditToken(callback.whatSpan(), index, index + length));
-            content.replace(index, index + length, TextHelper.getPlaceHolder(match));
-        }
-        return editTokenList;
-    }
-
     /**
      * the interface of getting span object
      */
@@ -257,8 +205,7 @@ public class SyntaxUtils {
      * @param onTodoClickListener {@link OnTodoClickListener}
      */
     public static void setTodoOrDoneClick(int endPosition, final SpannableStringBuilder ssb, final OnTodoClickListener onTodoClickListener) {
-        Bitmap bitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ALPHA_8);
-        ssb.setSpan(new ImageSpan(bitmap), 0, endPosition, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        ssb.setSpan(new MDTodoMarkerSpan(), 0, endPosition, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
         ssb.setSpan(new ClickableSpan() {
             @Override
             public void onClick(View widget) {
@@ -269,6 +216,40 @@ public class SyntaxUtils {
         }, 0, SyntaxKey.KEY_TODO_HYPHEN.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
     }
 
+    /**
+     * toggle _todo or done span in place, only the affected span is replaced
+     * <p>
+     * If the callback returns nothing, the text of the clicked {@link TextView} is used,
+     * so the caller doesn't need to rebuild the whole text.
+     *
+     * @param view    the clicked view
+     * @param text    the text returned by {@link com.yydcdut.markdown.callback.OnTodoClickCallback}, nullable
+     * @param ssb     the line text
+     * @param oldSpan the current span
+     * @param newSpan the span to replace with
+     */
+    public static void toggleTodoOrDone(View view, @Nullable CharSequence text, @NonNull SpannableStringBuilder ssb,
+                                        @NonNull MDTodoSpan oldSpan, @NonNull MDTodoSpan newSpan) {
+        Spannable spannable;
+        if (text instanceof Spannable) {
+            spannable = (Spannable) text;
+        } else if (text == null && view instanceof TextView && ((TextView) view).getText() instanceof Spannable) {
+            spannable = (Spannable) ((TextView) view).getText();
+        } else {
+            return;
+        }
+        int start = spannable.getSpanStart(oldSpan);
+        int end = spannable.getSpanEnd(oldSpan);
+        if (start < 0 || end < 0) {
+            return;
+        }
+        spannable.removeSpan(oldSpan);
+        spannable.setSpan(newSpan, start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+        ssb.removeSpan(oldSpan);
+        ssb.setSpan(newSpan, 0, ssb.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    }
+
     /**
      * remove spans
      *
@@ -280,7 +261,20 @@ public class SyntaxUtils {
     public static <T> void removeSpans(Editable editable, int start, Class<T> clazz) {
         int startPosition = TextHelper.findBeforeNewLineChar(editable, start) + 1;
         int endPosition = TextHelper.findNextNewLineCharCompat(editable, start);
-        T[] ts = editable.getSpans(startPosition, endPosition, clazz);
+        removeSpans(editable, startPosition, endPosition, clazz);
+    }
+
+    /**
+     * remove spans between start and end
+     *
+     * @param editable Editable, the text
+     * @param start    int, the start position
+     * @param end      int, the end position
+     * @param clazz    class
+     * @param <T>      span
+     */
+    public static <T> void removeSpans(Editable editable, int start, int end, Class<T> clazz) {
+        T[] ts = editable.getSpans(start, end, clazz);
         if (clazz.isAssignableFrom(MDCodeBlockSpan.class)) {
             for (T t : ts) {
                 MDCodeBlockSpan mdCodeBlockSpan = ((MDCodeBlockSpan) t);
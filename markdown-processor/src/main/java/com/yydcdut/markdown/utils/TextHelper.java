@@ -144,6 +144,23 @@ public class TextHelper {
         return list;
     }
 
+    /**
+     * get the number of lines, the number of '\n' plus one
+     *
+     * @param s text
+     * @return the number of lines
+     */
+    public static int getLinesCount(CharSequence s) {
+        int count = 1;
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * get place holder for match string
      *
@@ -151,10 +168,19 @@ public class TextHelper {
      * @return the place holder string
      */
     public static String getPlaceHolder(String matchString) {
-        int length = matchString.length();
-        StringBuilder placeHolder = new StringBuilder();
+        return getPlaceHolder(matchString.length());
+    }
+
+    /**
+     * get place holder with the length
+     *
+     * @param length int, the length of place holder
+     * @return the place holder string
+     */
+    public static String getPlaceHolder(int length) {
+        StringBuilder placeHolder = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
-            placeHolder.append(" ");
+            placeHolder.append(' ');
         }
         return placeHolder.toString();
     }
@@ -1,13 +1,14 @@
 package prettify;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import prettify.parser.Job;
+import prettify.parser.LexerSnapshot;
 import prettify.parser.Prettify;
 import syntaxhighlight.ParseResult;
 import syntaxhighlight.Parser;
+import syntaxhighlight.TokenStream;
 
 /**
  * The prettify parser for syntax highlight.
@@ -20,30 +21,65 @@ public class PrettifyParser implements Parser {
      * The prettify parser.
      */
     protected Prettify prettify;
+    /**
+     * The snapshots of the latest parsed contents, the content edited from one
+     * of them is lexed from the edited lines, see {@link LexerSnapshot}.
+     */
+    protected final LexerSnapshot[] snapshots = new LexerSnapshot[8];
+    protected int nextSnapshot;
 
     /**
-     * Constructor.
+     * Constructor, the languages are shared with the other parsers.
      */
     public PrettifyParser() {
-        prettify = new Prettify();
+        prettify = Prettify.getInstance();
     }
 
     @Override
     public List<ParseResult> parse(String fileExtension, String content) {
-        Job job = new Job(0, content);
-        prettify.langHandlerForExtension(fileExtension, content).decorate(job);
-        List<Object> decorations = job.getDecorations();
-
+        TokenStream tokens = new TokenStream();
+        parse(fileExtension, content, tokens);
 
-        List<ParseResult> returnList = new ArrayList<ParseResult>();
+        List<ParseResult> returnList = new ArrayList<ParseResult>(tokens.size());
 
         // apply style according to the style list
-        for (int i = 0, iEnd = decorations.size(); i < iEnd; i += 2) {
-            int endPos = i + 2 < iEnd ? (Integer) decorations.get(i + 2) : content.length();
-            int startPos = (Integer) decorations.get(i);
-            returnList.add(new ParseResult(startPos, endPos - startPos, Arrays.asList(new String[]{(String) decorations.get(i + 1)})));
+        for (int i = 0, iEnd = tokens.size(); i < iEnd; i++) {
+            int startPos = tokens.getStart(i);
+            returnList.add(new ParseResult(startPos, tokens.getEnd(i) - startPos, Collections.singletonList(TokenStream.getStyleName(tokens.getStyle(i)))));
         }
 
         return returnList;
     }
+
+    @Override
+    public void parse(String fileExtension, String content, TokenStream out) {
+        Prettify.CreateSimpleLexer lexer = prettify.langHandlerForExtension(fileExtension, content);
+        LexerSnapshot previous = null;
+        int previousIndex = -1;
+        synchronized (snapshots) {
+            // the most similar content, at least half of content is the same
+            int maxCommonLength = content.length() / 2;
+            for (int i = 0; i < snapshots.length; i++) {
+                if (snapshots[i] == null) {
+                    continue;
+                }
+                int commonLength = snapshots[i].getCommonLength(lexer, content);
+                if (commonLength >= maxCommonLength) {
+                    maxCommonLength = commonLength;
+                    previous = snapshots[i];
+                    previousIndex = i;
+                }
+            }
+        }
+
+        LexerSnapshot snapshot = lexer.decorate(content, out, previous);
+
+        synchronized (snapshots) {
+            if (previousIndex < 0 || snapshots[previousIndex] != previous) {
+                previousIndex = nextSnapshot;
+                nextSnapshot = (nextSnapshot + 1) % snapshots.length;
+            }
+            snapshots[previousIndex] = snapshot;
+        }
+    }
 }
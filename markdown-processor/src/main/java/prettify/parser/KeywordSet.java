@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * The keywords of a keyword pattern in a trie, such as {@code ^(?:break|case|catch)\b}.
+ * <p>
+ * Testing a token walks the trie once instead of trying each alternative of the regex.
+ * The supported patterns are an alternation of literal words, optionally preceded by {@code \b},
+ * followed by {@code \b} or a negative character class lookahead like {@code (?=[^\w-]|$)},
+ * case sensitive or ASCII case insensitive, {@link #compile(Pattern)} returns null for the others.
+ */
+public class KeywordSet {
+
+    private static final String[] NO_MATCH = new String[0];
+    private static final String ALTERNATION_START = "^(?:";
+    private static final String BOUNDARY_ALTERNATION_START = "^\\b(?:";
+    private static final String WORD_BOUNDARY = "\\b";
+    private static final String[][] LOOKAHEADS = {
+            {"(?=[^\\w-]|$)", "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_-"},
+            {"(?=[^\\w]|$)", "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_"},
+            {"(?=[^a-zA-Z0-9\\']|$)", "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789'"},
+    };
+    private static final String META_CHARS = "\\^$.|?*+()[]{}";
+
+    /**
+     * the regex, it is used when the character after keyword isn't ASCII
+     */
+    private final Pattern pattern;
+    private final boolean ignoreCase;
+    /**
+     * the characters which can't follow the keyword, null means the keyword ends at a word boundary
+     */
+    private final boolean[] wordChars;
+
+    /**
+     * the edges of node n are edgeChars[edgeStarts[n]] to edgeChars[edgeStarts[n + 1] - 1]
+     */
+    private final int[] edgeStarts;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    /**
+     * the index of keyword ending at the node in the alternation, -1 if none
+     */
+    private final int[] keywordIndexes;
+
+    private KeywordSet(Pattern pattern, List<String> keywords, boolean ignoreCase, boolean[] wordChars) {
+        this.pattern = pattern;
+        this.ignoreCase = ignoreCase;
+        this.wordChars = wordChars;
+
+        List<TreeMap<Character, Integer>> nodes = new ArrayList<TreeMap<Character, Integer>>();
+        List<Integer> nodeKeywordIndexes = new ArrayList<Integer>();
+        nodes.add(new TreeMap<Character, Integer>());
+        nodeKeywordIndexes.add(-1);
+        int edgeCount = 0;
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                Integer next = nodes.get(node).get(c);
+                if (next == null) {
+                    next = nodes.size();
+                    nodes.get(node).put(c, next);
+                    nodes.add(new TreeMap<Character, Integer>());
+                    nodeKeywordIndexes.add(-1);
+                    edgeCount++;
+                }
+                node = next;
+            }
+            if (nodeKeywordIndexes.get(node) < 0) {
+                nodeKeywordIndexes.set(node, k);
+            }
+        }
+
+        edgeStarts = new int[nodes.size() + 1];
+        edgeChars = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        keywordIndexes = new int[nodes.size()];
+        int edge = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            edgeStarts[n] = edge;
+            keywordIndexes[n] = nodeKeywordIndexes.get(n);
+            for (Map.Entry<Character, Integer> entry : nodes.get(n).entrySet()) {
+                edgeChars[edge] = entry.getKey();
+                edgeTargets[edge] = entry.getValue();
+                edge++;
+            }
+        }
+        edgeStarts[nodes.size()] = edge;
+    }
+
+    /**
+     * Build the keyword set of the pattern.
+     *
+     * @param pattern the pattern
+     * @return the keyword set, null if the pattern isn't a supported keyword pattern
+     */
+    public static KeywordSet compile(Pattern pattern) {
+        int flags = pattern.flags();
+        if ((flags & ~Pattern.CASE_INSENSITIVE) != 0) {
+            return null;
+        }
+        String regex = pattern.pattern();
+        boolean leadingBoundary = regex.startsWith(BOUNDARY_ALTERNATION_START);
+        if (!leadingBoundary && !regex.startsWith(ALTERNATION_START)) {
+            return null;
+        }
+        int start = leadingBoundary ? BOUNDARY_ALTERNATION_START.length() : ALTERNATION_START.length();
+        int end = regex.indexOf(')', start);
+        if (end < 0) {
+            return null;
+        }
+        String suffix = regex.substring(end + 1);
+        boolean[] wordChars = null;
+        if (!WORD_BOUNDARY.equals(suffix)) {
+            for (String[] lookahead : LOOKAHEADS) {
+                if (lookahead[0].equals(suffix)) {
+                    wordChars = new boolean[128];
+                    for (int i = 0; i < lookahead[1].length(); i++) {
+                        wordChars[lookahead[1].charAt(i)] = true;
+                    }
+                }
+            }
+            if (wordChars == null) {
+                return null;
+            }
+        }
+        List<String> keywords = new ArrayList<String>();
+        int wordStart = start;
+        for (int i = start; i <= end; i++) {
+            char c = regex.charAt(i);
+            if (i == end || c == '|') {
+                if (i == wordStart) {
+                    return null;
+                }
+                String keyword = regex.substring(wordStart, i);
+                if (!leadingBoundary || isWordChar(keyword.charAt(0))) {
+                    keywords.add(keyword);
+                }
+                wordStart = i + 1;
+            } else if (c >= 128 || META_CHARS.indexOf(c) >= 0) {
+                return null;
+            }
+        }
+        return new KeywordSet(pattern, keywords, (flags & Pattern.CASE_INSENSITIVE) != 0, wordChars);
+    }
+
+    /**
+     * Match the token, the same as {@link Util#match(Pattern, String, boolean)} with the pattern.
+     * <p>
+     * The regex takes the first alternative which matches, so the keyword with the smallest index wins.
+     *
+     * @param token the token
+     * @return the matched text, empty if not matched
+     */
+    public String[] match(String token) {
+        int node = 0;
+        int matchIndex = Integer.MAX_VALUE;
+        int matchLength = -1;
+        for (int i = 0; ; i++) {
+            int keywordIndex = keywordIndexes[node];
+            if (keywordIndex >= 0 && keywordIndex < matchIndex) {
+                if (i == token.length()) {
+                    if (wordChars != null || isWordChar(token.charAt(i - 1))) {
+                        matchIndex = keywordIndex;
+                        matchLength = i;
+                    }
+                } else {
+                    char next = token.charAt(i);
+                    if (next >= 128) {
+                        return Util.match(pattern, token, false);
+                    }
+                    if (isEnd(token.charAt(i - 1), next)) {
+                        matchIndex = keywordIndex;
+                        matchLength = i;
+                    }
+                }
+            }
+            if (i == token.length() || (node = next(node, fold(token.charAt(i)))) < 0) {
+                break;
+            }
+        }
+        if (matchLength < 0) {
+            return NO_MATCH;
+        }
+        return new String[]{matchLength == token.length() ? token : token.substring(0, matchLength)};
+    }
+
+    /**
+     * whether the keyword ending with last can be followed by next
+     */
+    private boolean isEnd(char last, char next) {
+        if (wordChars == null) {
+            return isWordChar(last) != isWordChar(next);
+        }
+        return !wordChars[next];
+    }
+
+    private int next(int node, char c) {
+        for (int edge = edgeStarts[node], edgeEnd = edgeStarts[node + 1]; edge < edgeEnd; edge++) {
+            if (edgeChars[edge] == c) {
+                return edgeTargets[edge];
+            }
+        }
+        return -1;
+    }
+
+    private char fold(char c) {
+        return ignoreCase && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * the word character of {@code \b}
+     */
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+}
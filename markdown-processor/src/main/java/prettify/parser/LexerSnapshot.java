@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify.parser;
+
+import java.util.Arrays;
+
+import syntaxhighlight.TokenStream;
+
+/**
+ * The tokens of a source code with the checkpoints of lexing, the source code can be lexed again from a checkpoint after it is edited.
+ * <p>
+ * A checkpoint is a line start where a token of the outermost lexer starts. The tokenizer keeps no state between tokens,
+ * so the tokens from a checkpoint only depend on the text after it, the lexing after an edit stops at the first checkpoint
+ * after the edited text which is a checkpoint of the previous lexing too, and the rest tokens are copied.
+ * <p>
+ * The matching of a token may read the text far after it, such as looking for the end of a string, so each checkpoint
+ * keeps how far the matching of tokens before it reads, the lexing starts from the last checkpoint whose tokens before
+ * don't read the edited text.
+ */
+public class LexerSnapshot {
+    private final Prettify.CreateSimpleLexer lexer;
+    private final String source;
+    private final TokenStream tokens;
+    private final int[] checkpoints;
+    /**
+     * how far the matching of tokens between the previous checkpoint and the checkpoint reads
+     */
+    private final int[] reaches;
+    private final int checkpointCount;
+
+    LexerSnapshot(Prettify.CreateSimpleLexer lexer, String source, TokenStream tokens, int[] checkpoints, int[] reaches, int checkpointCount) {
+        this.lexer = lexer;
+        this.source = source;
+        this.tokens = tokens;
+        this.checkpoints = checkpoints;
+        this.reaches = reaches;
+        this.checkpointCount = checkpointCount;
+    }
+
+    /**
+     * the length of the common prefix and the common suffix of the source code and the source code of snapshot
+     *
+     * @param lexer  the lexer of source code
+     * @param source the source code
+     * @return the length, -1 if the snapshot isn't lexed by the lexer
+     */
+    public int getCommonLength(Prettify.CreateSimpleLexer lexer, String source) {
+        if (lexer != this.lexer) {
+            return -1;
+        }
+        int prefix = commonPrefix(this.source, source);
+        return prefix + commonSuffix(this.source, source, prefix);
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int prefix = 0;
+        while (prefix < max && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return prefix;
+    }
+
+    /**
+     * the common suffix which doesn't overlap the common prefix
+     */
+    private static int commonSuffix(String a, String b, int prefix) {
+        int max = Math.min(a.length(), b.length()) - prefix;
+        int suffix = 0;
+        while (suffix < max && a.charAt(a.length() - 1 - suffix) == b.charAt(b.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return suffix;
+    }
+
+    /**
+     * The checkpoints of lexing, it finds where to start and stop lexing the edited source code.
+     */
+    static class Checkpoints {
+        private final Prettify.CreateSimpleLexer lexer;
+        private final String source;
+        private final LexerSnapshot previous;
+        private int[] positions = new int[16];
+        private int[] reaches = new int[16];
+        private int count;
+        /**
+         * how far the matching of tokens after the last checkpoint reads
+         */
+        private int reach;
+
+        /**
+         * the end of edited text in source
+         */
+        private int editEnd;
+        /**
+         * the change of length
+         */
+        private int delta;
+        /**
+         * the index of checkpoint in previous to start lexing, -1 to start from 0
+         */
+        private int resumeIndex = -1;
+        /**
+         * the index of checkpoint in previous where the lexing stops
+         */
+        private int resyncIndex = -1;
+
+        Checkpoints(Prettify.CreateSimpleLexer lexer, String source, LexerSnapshot previous) {
+            this.lexer = lexer;
+            this.source = source;
+            this.previous = previous != null && previous.lexer == lexer ? previous : null;
+            if (this.previous == null) {
+                return;
+            }
+            String oldSource = previous.source;
+            int prefix = commonPrefix(oldSource, source);
+            int suffix = commonSuffix(oldSource, source, prefix);
+            delta = source.length() - oldSource.length();
+            editEnd = source.length() - suffix;
+            if (delta == 0 && prefix == source.length()) {
+                resumeIndex = previous.checkpointCount;
+                return;
+            }
+            //start from the last checkpoint whose tokens before don't read the edited text,
+            //the reach is less than the prefix as the lookarounds may read one character after the region of matching
+            int maxReach = 0;
+            while (resumeIndex + 1 < previous.checkpointCount) {
+                maxReach = Math.max(maxReach, previous.reaches[resumeIndex + 1]);
+                if (maxReach >= prefix) {
+                    break;
+                }
+                resumeIndex++;
+            }
+        }
+
+        /**
+         * copy the tokens and the checkpoints before the checkpoint to start lexing
+         *
+         * @param out the tokens
+         * @return the position to start lexing, -1 if the source code isn't changed and all tokens are copied
+         */
+        int copyBeforeEdit(TokenStream out) {
+            if (resumeIndex < 0) {
+                return 0;
+            }
+            int resume = resumeIndex < previous.checkpointCount ? previous.checkpoints[resumeIndex] : Integer.MAX_VALUE;
+            TokenStream tokens = previous.tokens;
+            for (int i = 0; i < tokens.size() && tokens.getStart(i) < resume; i++) {
+                out.add(tokens.getStart(i), tokens.getStyle(i));
+            }
+            for (int i = 0; i < resumeIndex; i++) {
+                add(previous.checkpoints[i], previous.reaches[i]);
+            }
+            if (resume == Integer.MAX_VALUE) {
+                return -1;
+            }
+            //the checkpoint to start is added again by the lexing
+            reach = previous.reaches[resumeIndex];
+            return resume;
+        }
+
+        /**
+         * invoked at the line start where a token starts, before {@link #onToken(int)} of the token
+         *
+         * @param position the position
+         * @return true if the lexing can stop, the tokens from the position are the same as the previous lexing
+         */
+        boolean onLineStart(int position) {
+            add(position, reach);
+            reach = 0;
+            if (previous == null || position < editEnd || position == 0 || position - delta <= 0) {
+                //'^' only matches at 0
+                return false;
+            }
+            int index = Arrays.binarySearch(previous.checkpoints, 0, previous.checkpointCount, position - delta);
+            if (index < 0) {
+                return false;
+            }
+            resyncIndex = index;
+            return true;
+        }
+
+        /**
+         * invoked for each token of the outermost lexer
+         *
+         * @param tokenReach how far the matching of token reads
+         */
+        void onToken(int tokenReach) {
+            reach = Math.max(reach, tokenReach);
+        }
+
+        /**
+         * copy the tokens and the checkpoints after the position where the lexing stops, they are moved by the change of length
+         *
+         * @param resync the position where the lexing stops
+         * @param out    the tokens
+         */
+        void copyAfterEdit(int resync, TokenStream out) {
+            TokenStream tokens = previous.tokens;
+            int i = tokens.indexOf(resync - delta);
+            out.add(resync, tokens.getStyle(i));
+            for (i++; i < tokens.size(); i++) {
+                out.add(tokens.getStart(i) + delta, tokens.getStyle(i));
+            }
+            for (int c = resyncIndex + 1; c < previous.checkpointCount; c++) {
+                add(previous.checkpoints[c] + delta, previous.reaches[c] + delta);
+            }
+        }
+
+        LexerSnapshot toSnapshot(TokenStream tokens) {
+            return new LexerSnapshot(lexer, source, new TokenStream(tokens), positions, reaches, count);
+        }
+
+        private void add(int position, int positionReach) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+                reaches = Arrays.copyOf(reaches, count * 2);
+            }
+            positions[count] = position;
+            reaches[count] = positionReach;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify.parser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The tokenizers of bundled languages combined ahead of time, see {@link PrecompiledLexerTable}.
+ * <p>
+ * A tokenizer is found by the fingerprint of the patterns it is combined from,
+ * so a language whose patterns are changed misses the table and is combined at runtime as before.
+ */
+final class PrecompiledLexers {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PrecompiledLexers() {
+    }
+
+    /**
+     * The fingerprint of the patterns, 64-bit FNV-1a of the regexes and the flags.
+     *
+     * @param regexs the patterns to combine
+     * @return the fingerprint
+     */
+    static long fingerprint(List<Pattern> regexs) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0, n = regexs.size(); i < n; ++i) {
+            Pattern regex = regexs.get(i);
+            String source = regex.pattern();
+            for (int j = 0, m = source.length(); j < m; ++j) {
+                hash = (hash ^ source.charAt(j)) * FNV_PRIME;
+            }
+            hash = (hash ^ (regex.flags() | 0x10000)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Get the combined tokenizer.
+     *
+     * @param fingerprint the fingerprint of the patterns
+     * @return the tokenizer, null if it isn't in the table
+     */
+    static Pattern get(long fingerprint) {
+        int index = Arrays.binarySearch(PrecompiledLexerTable.FINGERPRINTS, fingerprint);
+        if (index < 0) {
+            return null;
+        }
+        StringBuilder tokenizer = new StringBuilder();
+        for (String part : PrecompiledLexerTable.TOKENIZERS[index]) {
+            tokenizer.append(part);
+        }
+        return Pattern.compile(tokenizer.toString(), PrecompiledLexerTable.FLAGS[index]);
+    }
+}
@@ -19,8 +19,12 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import prettify.lang.Lang;
@@ -51,6 +55,7 @@ import prettify.lang.LangVhdl;
 import prettify.lang.LangWiki;
 import prettify.lang.LangXq;
 import prettify.lang.LangYaml;
+import syntaxhighlight.TokenStream;
 
 /**
  * This is similar to the prettify.js in JavaScript Prettify.
@@ -214,6 +219,12 @@ public class Prettify {
      * it fails to distinguish between (a=++/b/i) and (a++/b/i) but it works
      * very well in practice.
      */
+    private static final int PLAIN_ID = TokenStream.getStyleId(PR_PLAIN);
+    /**
+     * the initial length of region to match a token, see {@link LexerSnapshot}
+     */
+    private static final int TOKEN_REGION_LENGTH = 64;
+    private static final Pattern MARKUP_PATTERN = Pattern.compile("^\\s*<");
     private static final String REGEXP_PRECEDER_PATTERN = "(?:^^\\.?|[+-]|[!=]=?=?|\\#|%=?|&&?=?|\\(|\\*=?|[+\\-]=|->|\\/=?|::?|<<?=?|>>?>?=?|,|;|\\?|@|\\[|~|\\{|\\^\\^?=?|\\|\\|?=?|break|case|continue|delete|do|else|finally|instanceof|return|throw|try|typeof)\\s*";
     // CAVEAT: this does not properly handle the case where a regular
     // expression immediately follows another since a regular expression may
@@ -229,58 +240,39 @@ public class Prettify {
             decorateSourceMap.put("cStyleComments", true);
             decorateSourceMap.put("multiLineStrings", true);
             decorateSourceMap.put("regexLiterals", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"default-code"}));
-
-            List<List<Object>> shortcutStylePatterns, fallthroughStylePatterns;
-
-            shortcutStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_PLAIN, Pattern.compile("^[^<?]+")}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_DECLARATION, Pattern.compile("^<!\\w[^>]*(?:>|$)")}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_COMMENT, Pattern.compile("^<\\!--[\\s\\S]*?(?:-\\->|$)")}));
-            // Unescaped content in an unknown language
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-", Pattern.compile("^<\\?([\\s\\S]+?)(?:\\?>|$)")}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-", Pattern.compile("^<%([\\s\\S]+?)(?:%>|$)")}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_PUNCTUATION, Pattern.compile("^(?:<[%?]|[%?]>)")}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-", Pattern.compile("^<xmp\\b[^>]*>([\\s\\S]+?)<\\/xmp\\b[^>]*>", Pattern.CASE_INSENSITIVE)}));
-            // Unescaped content in javascript.  (Or possibly vbscript).
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^<script\\b[^>]*>([\\s\\S]*?)(<\\/script\\b[^>]*>)", Pattern.CASE_INSENSITIVE)}));
-            // Contains unescaped stylesheet content
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^<style\\b[^>]*>([\\s\\S]*?)(<\\/style\\b[^>]*>)", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-in.tag", Pattern.compile("^(<\\/?[a-z][^<>]*>)", Pattern.CASE_INSENSITIVE)}));
-            registerLangHandler(new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns), Arrays.asList(new String[]{"default-markup", "htm", "html", "mxml", "xhtml", "xml", "xsl"}));
-
-            shortcutStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns = new ArrayList<List<Object>>();
-            shortcutStylePatterns.add(Arrays.asList(new Object[]{PR_PLAIN, Pattern.compile("^[\\s]+"), null, " \t\r\n"}));
-            shortcutStylePatterns.add(Arrays.asList(new Object[]{PR_ATTRIB_VALUE, Pattern.compile("^(?:\\\"[^\\\"]*\\\"?|\\'[^\\']*\\'?)"), null, "\"'"}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_TAG, Pattern.compile("^^<\\/?[a-z](?:[\\w.:-]*\\w)?|\\/?>$", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_ATTRIB_NAME, Pattern.compile("^(?!style[\\s=]|on)[a-z](?:[\\w:-]*\\w)?", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-uq.val", Pattern.compile("^=\\s*([^>\\'\\\"\\s]*(?:[^>\\'\\\"\\s\\/]|\\/(?=\\s)))", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_PUNCTUATION, Pattern.compile("^[=<>\\/]+")}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^on\\w+\\s*=\\s*\\\"([^\\\"]+)\\\"", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^on\\w+\\s*=\\s*\\'([^\\']+)\\'", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^on\\w+\\s*=\\s*([^\\\"\\'>\\s]+)", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^style\\s*=\\s*\\\"([^\\\"]+)\\\"", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^style\\s*=\\s*\\'([^\\']+)\\'", Pattern.CASE_INSENSITIVE)}));
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^style\\s*=\\s\\*([^\\\"\\'>\\s]+)", Pattern.CASE_INSENSITIVE)}));
-            registerLangHandler(new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns), Arrays.asList(new String[]{"in.tag"}));
-
-            shortcutStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_ATTRIB_VALUE, Pattern.compile("^[\\s\\S]+")}));
-            registerLangHandler(new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns), Arrays.asList(new String[]{"uq.val"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"default-code"}));
+
+            registerLangHandler(new LangHandler() {
+                @Override
+                protected CreateSimpleLexer compile() throws Exception {
+                    return createMarkupLexer();
+                }
+            }, Arrays.asList(new String[]{"default-markup", "htm", "html", "mxml", "xhtml", "xml", "xsl"}));
+
+            registerLangHandler(new LangHandler() {
+                @Override
+                protected CreateSimpleLexer compile() throws Exception {
+                    return createInTagLexer();
+                }
+            }, Arrays.asList(new String[]{"in.tag"}));
+
+            registerLangHandler(new LangHandler() {
+                @Override
+                protected CreateSimpleLexer compile() throws Exception {
+                    return createUnquotedValueLexer();
+                }
+            }, Arrays.asList(new String[]{"uq.val"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", CPP_KEYWORDS);
             decorateSourceMap.put("hashComments", true);
             decorateSourceMap.put("cStyleComments", true);
             decorateSourceMap.put("types", C_TYPES);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"c", "cc", "cpp", "cxx", "cyc", "m"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"c", "cc", "cpp", "cxx", "cyc", "m"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", "null,true,false");
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"json"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"json"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", CSHARP_KEYWORDS);
@@ -288,45 +280,45 @@ public class Prettify {
             decorateSourceMap.put("cStyleComments", true);
             decorateSourceMap.put("verbatimStrings", true);
             decorateSourceMap.put("types", C_TYPES);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"cs"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"cs"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", JAVA_KEYWORDS);
             decorateSourceMap.put("cStyleComments", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"java"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"java"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", SH_KEYWORDS);
             decorateSourceMap.put("hashComments", true);
             decorateSourceMap.put("multiLineStrings", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"bash", "bsh", "csh", "sh"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"bash", "bsh", "csh", "sh"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", PYTHON_KEYWORDS);
             decorateSourceMap.put("hashComments", true);
             decorateSourceMap.put("multiLineStrings", true);
             decorateSourceMap.put("tripleQuotedStrings", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"cv", "py", "python"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"cv", "py", "python"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", PERL_KEYWORDS);
             decorateSourceMap.put("hashComments", true);
             decorateSourceMap.put("multiLineStrings", true);
             decorateSourceMap.put("regexLiterals", 2);   // multiline regex literals
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"perl", "pl", "pm"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"perl", "pl", "pm"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", RUBY_KEYWORDS);
             decorateSourceMap.put("hashComments", true);
             decorateSourceMap.put("multiLineStrings", true);
             decorateSourceMap.put("regexLiterals", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"rb", "ruby"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"rb", "ruby"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", JSCRIPT_KEYWORDS);
             decorateSourceMap.put("cStyleComments", true);
             decorateSourceMap.put("regexLiterals", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"javascript", "js"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"javascript", "js"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", COFFEE_KEYWORDS);
@@ -335,18 +327,20 @@ public class Prettify {
             decorateSourceMap.put("multilineStrings", true);
             decorateSourceMap.put("tripleQuotedStrings", true);
             decorateSourceMap.put("regexLiterals", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"coffee"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"coffee"}));
 
             decorateSourceMap = new HashMap<String, Object>();
             decorateSourceMap.put("keywords", RUST_KEYWORDS);
             decorateSourceMap.put("cStyleComments", true);
             decorateSourceMap.put("multilineStrings", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"rc", "rs", "rust"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"rc", "rs", "rust"}));
 
-            shortcutStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns = new ArrayList<List<Object>>();
-            fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_STRING, Pattern.compile("^[\\s\\S]+")}));
-            registerLangHandler(new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns), Arrays.asList(new String[]{"regex"}));
+            registerLangHandler(new LangHandler() {
+                @Override
+                protected CreateSimpleLexer compile() throws Exception {
+                    return createRegexLexer();
+                }
+            }, Arrays.asList(new String[]{"regex"}));
 
             /**
              * Registers a language handler for Protocol Buffers as described at
@@ -364,7 +358,7 @@ public class Prettify {
                     + "syntax,to,true");
             decorateSourceMap.put("types", Pattern.compile("^(bool|(double|s?fixed|[su]?int)(32|64)|float|string)\\b"));
             decorateSourceMap.put("cStyleComments", true);
-            registerLangHandler(sourceDecorator(decorateSourceMap), Arrays.asList(new String[]{"proto"}));
+            registerSourceDecorator(decorateSourceMap, Arrays.asList(new String[]{"proto"}));
 
             register(LangAppollo.class);
             register(LangBasic.class);
@@ -399,21 +393,80 @@ public class Prettify {
     }
 
     /**
-     * Apply the given language handler to sourceCode and add the resulting
-     * decorations to out.
+     * Get the instance shared by the process, the languages are registered
+     * once and each lexer is compiled once.
      *
-     * @param basePos the index of sourceCode within the chunk of source
-     *                whose decorations are already present on out.
+     * @return the instance
      */
-    protected static void appendDecorations(int basePos, String sourceCode, CreateSimpleLexer langHandler, List<Object> out) {
-        if (sourceCode == null) {
-            throw new NullPointerException("argument 'sourceCode' cannot be null");
-        }
-        Job job = new Job();
-        job.setSourceCode(sourceCode);
-        job.setBasePos(basePos);
-        langHandler.decorate(job);
-        out.addAll(job.getDecorations());
+    public static Prettify getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private static class InstanceHolder {
+        private static final Prettify INSTANCE = new Prettify();
+    }
+
+    /**
+     * the lexer of markup, the embedded scripts and styles are lexed by their languages
+     */
+    private CreateSimpleLexer createMarkupLexer() throws Exception {
+        List<List<Object>> shortcutStylePatterns = new ArrayList<List<Object>>();
+        List<List<Object>> fallthroughStylePatterns = new ArrayList<List<Object>>();
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_PLAIN, Pattern.compile("^[^<?]+")}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_DECLARATION, Pattern.compile("^<!\\w[^>]*(?:>|$)")}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_COMMENT, Pattern.compile("^<\\!--[\\s\\S]*?(?:-\\->|$)")}));
+        // Unescaped content in an unknown language
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-", Pattern.compile("^<\\?([\\s\\S]+?)(?:\\?>|$)")}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-", Pattern.compile("^<%([\\s\\S]+?)(?:%>|$)")}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_PUNCTUATION, Pattern.compile("^(?:<[%?]|[%?]>)")}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-", Pattern.compile("^<xmp\\b[^>]*>([\\s\\S]+?)<\\/xmp\\b[^>]*>", Pattern.CASE_INSENSITIVE)}));
+        // Unescaped content in javascript.  (Or possibly vbscript).
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^<script\\b[^>]*>([\\s\\S]*?)(<\\/script\\b[^>]*>)", Pattern.CASE_INSENSITIVE)}));
+        // Contains unescaped stylesheet content
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^<style\\b[^>]*>([\\s\\S]*?)(<\\/style\\b[^>]*>)", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-in.tag", Pattern.compile("^(<\\/?[a-z][^<>]*>)", Pattern.CASE_INSENSITIVE)}));
+        return new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns);
+    }
+
+    /**
+     * the lexer of the content in a tag
+     */
+    private CreateSimpleLexer createInTagLexer() throws Exception {
+        List<List<Object>> shortcutStylePatterns = new ArrayList<List<Object>>();
+        List<List<Object>> fallthroughStylePatterns = new ArrayList<List<Object>>();
+        shortcutStylePatterns.add(Arrays.asList(new Object[]{PR_PLAIN, Pattern.compile("^[\\s]+"), null, " \t\r\n"}));
+        shortcutStylePatterns.add(Arrays.asList(new Object[]{PR_ATTRIB_VALUE, Pattern.compile("^(?:\\\"[^\\\"]*\\\"?|\\'[^\\']*\\'?)"), null, "\"'"}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_TAG, Pattern.compile("^^<\\/?[a-z](?:[\\w.:-]*\\w)?|\\/?>$", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_ATTRIB_NAME, Pattern.compile("^(?!style[\\s=]|on)[a-z](?:[\\w:-]*\\w)?", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-uq.val", Pattern.compile("^=\\s*([^>\\'\\\"\\s]*(?:[^>\\'\\\"\\s\\/]|\\/(?=\\s)))", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_PUNCTUATION, Pattern.compile("^[=<>\\/]+")}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^on\\w+\\s*=\\s*\\\"([^\\\"]+)\\\"", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^on\\w+\\s*=\\s*\\'([^\\']+)\\'", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-js", Pattern.compile("^on\\w+\\s*=\\s*([^\\\"\\'>\\s]+)", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^style\\s*=\\s*\\\"([^\\\"]+)\\\"", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^style\\s*=\\s*\\'([^\\']+)\\'", Pattern.CASE_INSENSITIVE)}));
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{"lang-css", Pattern.compile("^style\\s*=\\s\\*([^\\\"\\'>\\s]+)", Pattern.CASE_INSENSITIVE)}));
+        return new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns);
+    }
+
+    /**
+     * the lexer of the unquoted attribute value
+     */
+    private CreateSimpleLexer createUnquotedValueLexer() throws Exception {
+        List<List<Object>> shortcutStylePatterns = new ArrayList<List<Object>>();
+        List<List<Object>> fallthroughStylePatterns = new ArrayList<List<Object>>();
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_ATTRIB_VALUE, Pattern.compile("^[\\s\\S]+")}));
+        return new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns);
+    }
+
+    /**
+     * the lexer of the regex literal
+     */
+    private CreateSimpleLexer createRegexLexer() throws Exception {
+        List<List<Object>> shortcutStylePatterns = new ArrayList<List<Object>>();
+        List<List<Object>> fallthroughStylePatterns = new ArrayList<List<Object>>();
+        fallthroughStylePatterns.add(Arrays.asList(new Object[]{PR_STRING, Pattern.compile("^[\\s\\S]+")}));
+        return new CreateSimpleLexer(shortcutStylePatterns, fallthroughStylePatterns);
     }
 
     public class CreateSimpleLexer {
@@ -421,7 +474,21 @@ public class Prettify {
         protected List<List<Object>> fallthroughStylePatterns;
         protected Map<Character, List<Object>> shortcuts = new HashMap<Character, List<Object>>();
         protected Pattern tokenizer;
+        /**
+         * The distinct patterns combined into tokenizer.
+         */
+        protected List<Pattern> regexs;
+        /**
+         * The fingerprint of the patterns combined into tokenizer, see
+         * {@link PrecompiledLexers}.
+         */
+        protected long fingerprint;
         protected int nPatterns;
+        /**
+         * The keyword sets of fallthroughStylePatterns, null if the pattern
+         * isn't a keyword pattern.
+         */
+        protected KeywordSet[] fallthroughKeywordSets;
 
         /**
          * Given triples of [style, pattern, context] returns a lexing function,
@@ -490,9 +557,18 @@ public class Prettify {
                 }
             }
             allRegexs.add(Pattern.compile("[\0-\\uffff]"));
-            tokenizer = new CombinePrefixPattern().combinePrefixPattern(allRegexs);
+            regexs = allRegexs;
+            fingerprint = PrecompiledLexers.fingerprint(allRegexs);
+            tokenizer = PrecompiledLexers.get(fingerprint);
+            if (tokenizer == null) {
+                tokenizer = new CombinePrefixPattern().combinePrefixPattern(allRegexs);
+            }
 
             nPatterns = fallthroughStylePatterns.size();
+            fallthroughKeywordSets = new KeywordSet[nPatterns];
+            for (int i = 0; i < nPatterns; ++i) {
+                fallthroughKeywordSets[i] = KeywordSet.compile((Pattern) fallthroughStylePatterns.get(i).get(1));
+            }
         }
 
         /**
@@ -507,25 +583,137 @@ public class Prettify {
          *                                  }</pre>
          */
         public void decorate(Job job) {
-            String sourceCode = job.getSourceCode();
-            int basePos = job.getBasePos();
-            /** Even entries are positions in source in ascending order.  Odd enties
-             * are style markers (e.g., PR_COMMENT) that run from that position until
-             * the end.
-             * @type {Array.<number|string>}
-             */
-            List<Object> decorations = new ArrayList<Object>(Arrays.asList(new Object[]{basePos, PR_PLAIN}));
-            int pos = 0;  // index into sourceCode
-            String[] tokens = Util.match(tokenizer, sourceCode, true);
-            Map<String, String> styleCache = new HashMap<String, String>();
-
-            for (int ti = 0, nTokens = tokens.length; ti < nTokens; ++ti) {
-                String token = tokens[ti];
-                String style = styleCache.get(token);
+            TokenStream tokens = new TokenStream();
+            decorate(job.getSourceCode(), job.getBasePos(), tokens);
+            tokens.finish(job.getSourceCode().length());
+            job.setDecorations(tokens.toDecorations());
+        }
+
+        /**
+         * Lexes sourceCode and writes the tokens to out, the same as
+         * {@link #decorate(Job)} without boxing the positions.
+         *
+         * @param sourceCode the source code
+         * @param out        the tokens, it is cleared first
+         */
+        public void decorate(String sourceCode, TokenStream out) {
+            out.clear();
+            decorate(sourceCode, 0, out);
+            out.finish(sourceCode.length());
+        }
+
+        /**
+         * Lexes sourceCode and appends the tokens to out, the embedded
+         * sources are lexed by their handlers into the same out.
+         *
+         * @param sourceCode the source code
+         * @param basePos    position of sourceCode in the larger chunk of
+         *                   sourceCode
+         * @param out        the tokens
+         */
+        protected void decorate(String sourceCode, int basePos, TokenStream out) {
+            decorate(sourceCode, 0, sourceCode.length(), basePos, out);
+        }
+
+        /**
+         * Lexes the window [start, end) of sourceCode as if it's the
+         * substring, without copying it.
+         *
+         * @param sourceCode the source code
+         * @param start      the start of window
+         * @param end        the end of window
+         * @param basePos    position of sourceCode in the larger chunk of
+         *                   sourceCode, the tokens are at basePos plus their
+         *                   positions in sourceCode
+         * @param out        the tokens
+         */
+        protected void decorate(String sourceCode, int start, int end, int basePos, TokenStream out) {
+            out.add(basePos + start, PLAIN_ID);
+            decorate(sourceCode, start, end, basePos, out, null);
+        }
+
+        /**
+         * Lexes sourceCode again after it is edited, only the lines from the
+         * checkpoint before the edit to the first checkpoint after it which
+         * lines up with the previous lexing are lexed, the other tokens are
+         * copied from previous.
+         *
+         * @param sourceCode the source code
+         * @param out        the tokens, it is cleared first
+         * @param previous   the snapshot of lexing the source code before
+         *                   editing, null to lex all
+         * @return the snapshot of this lexing
+         */
+        public LexerSnapshot decorate(String sourceCode, TokenStream out, LexerSnapshot previous) {
+            out.clear();
+            LexerSnapshot.Checkpoints checkpoints = new LexerSnapshot.Checkpoints(this, sourceCode, previous);
+            int from = checkpoints.copyBeforeEdit(out);
+            if (from == 0) {
+                out.add(0, PLAIN_ID);
+            }
+            if (from >= 0) {
+                int resync = decorate(sourceCode, from, sourceCode.length(), 0, out, checkpoints);
+                if (resync >= 0) {
+                    checkpoints.copyAfterEdit(resync, out);
+                }
+            }
+            out.finish(sourceCode.length());
+            return checkpoints.toSnapshot(out);
+        }
+
+        /**
+         * Lexes sourceCode from position from to end.
+         * <p>
+         * Without checkpoints, [from, end) is lexed as if it's the
+         * substring: '^' and '$' match at its bounds and the lookarounds
+         * don't see the text out of it. With checkpoints, the whole
+         * sourceCode is lexed and from is where a token starts.
+         *
+         * @param sourceCode  the source code
+         * @param from        the position to start
+         * @param end         the position to end
+         * @param basePos     position of sourceCode in the larger chunk of
+         *                    sourceCode
+         * @param out         the tokens
+         * @param checkpoints the line starts where a token starts are passed
+         *                    to it, null if not needed
+         * @return the position where checkpoints stops the lexing, -1 if
+         * lexed to the end
+         * @throws CancellationException if the thread is interrupted, the
+         *                               lexing stops between the tokens
+         */
+        protected int decorate(String sourceCode, int from, int end, int basePos, TokenStream out, LexerSnapshot.Checkpoints checkpoints) {
+            int pos = from;  // index into sourceCode
+            Matcher tokenMatcher = tokenizer.matcher(sourceCode);
+            if (checkpoints != null) {
+                // the region is only for knowing how far the matching reads,
+                // the text out of it is still seen by '^', '$' and the
+                // lookarounds
+                tokenMatcher.useTransparentBounds(true);
+                tokenMatcher.useAnchoringBounds(false);
+            }
+            tokenMatcher.region(from, end);
+            Map<String, Integer> styleCache = new HashMap<String, Integer>();
+
+            for (int reach = nextToken(sourceCode, tokenMatcher, pos, checkpoints); reach >= 0;
+                 reach = nextToken(sourceCode, tokenMatcher, pos, checkpoints)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // the highlighting is cancelled, stop a long lexing
+                    throw new CancellationException();
+                }
+                if (checkpoints != null) {
+                    if ((pos == 0 || sourceCode.charAt(pos - 1) == '\n') && checkpoints.onLineStart(pos)) {
+                        return pos;
+                    }
+                    checkpoints.onToken(reach);
+                }
+                String token = tokenMatcher.group(0);
+                Integer styleId = styleCache.get(token);
+                String style = null;
                 String[] match = null;
 
                 boolean isEmbedded;
-                if (style != null) {
+                if (styleId != null) {
                     isEmbedded = false;
                 } else {
                     List<Object> patternParts = shortcuts.get(token.charAt(0));
@@ -535,7 +723,10 @@ public class Prettify {
                     } else {
                         for (int i = 0; i < nPatterns; ++i) {
                             patternParts = fallthroughStylePatterns.get(i);
-                            match = Util.match((Pattern) patternParts.get(1), token, false);
+                            KeywordSet keywordSet = fallthroughKeywordSets[i];
+                            match = keywordSet != null
+                                    ? keywordSet.match(token)
+                                    : Util.match((Pattern) patternParts.get(1), token, false);
                             if (match.length != 0) {
                                 style = (String) patternParts.get(0);
                                 break;
@@ -554,7 +745,8 @@ public class Prettify {
                     }
 
                     if (!isEmbedded) {
-                        styleCache.put(token, style);
+                        styleId = TokenStream.getStyleId(style);
+                        styleCache.put(token, styleId);
                     }
                 }
 
@@ -562,8 +754,7 @@ public class Prettify {
                 pos += token.length();
 
                 if (!isEmbedded) {
-                    decorations.add(basePos + tokenStart);
-                    decorations.add(style);
+                    out.add(basePos + tokenStart, styleId);
                 } else {  // Treat group 1 as an embedded block of source code.
                     String embeddedSource = match[1];
                     int embeddedSourceStart = token.indexOf(embeddedSource);
@@ -577,22 +768,42 @@ public class Prettify {
                     }
                     String lang = style.substring(5);
                     // Decorate the left of the embedded source
-                    appendDecorations(basePos + tokenStart,
-                            token.substring(0, embeddedSourceStart),
-                            this, decorations);
+                    decorate(sourceCode, tokenStart, tokenStart + embeddedSourceStart, basePos, out);
                     // Decorate the embedded source
-                    appendDecorations(basePos + tokenStart + embeddedSourceStart,
-                            embeddedSource,
-                            langHandlerForExtension(lang, embeddedSource),
-                            decorations);
+                    langHandlerForExtension(lang, embeddedSource).decorate(sourceCode,
+                            tokenStart + embeddedSourceStart, tokenStart + embeddedSourceEnd, basePos, out);
                     // Decorate the right of the embedded section
-                    appendDecorations(basePos + tokenStart + embeddedSourceEnd,
-                            token.substring(embeddedSourceEnd),
-                            this, decorations);
+                    decorate(sourceCode, tokenStart + embeddedSourceEnd, pos, basePos, out);
                 }
             }
+            return -1;
+        }
 
-            job.setDecorations(Util.removeDuplicates(decorations, job.getSourceCode()));
+        /**
+         * Finds the token at pos, the tokens are contiguous.
+         * <p>
+         * With checkpoints, the token is matched in a region which is
+         * extended until the matching doesn't hit the end of it, so the
+         * token doesn't depend on the text after the region.
+         *
+         * @return the end of region, -1 if there is no token
+         */
+        private int nextToken(String sourceCode, Matcher tokenMatcher, int pos, LexerSnapshot.Checkpoints checkpoints) {
+            if (checkpoints == null) {
+                return tokenMatcher.find() ? tokenMatcher.end() : -1;
+            }
+            int length = sourceCode.length();
+            if (pos >= length) {
+                return -1;
+            }
+            int limit = pos;
+            boolean found;
+            do {
+                limit = Math.min(length, limit + Math.max(limit - pos, TOKEN_REGION_LENGTH));
+                tokenMatcher.region(pos, limit);
+                found = tokenMatcher.lookingAt();
+            } while (tokenMatcher.hitEnd() && limit < length);
+            return found ? limit : -1;
         }
     }
 
@@ -808,10 +1019,73 @@ public class Prettify {
     /**
      * Maps language-specific file extensions to handlers.
      */
-    protected Map<String, Object> langHandlerRegistry = new HashMap<String, Object>();
+    protected final ConcurrentMap<String, LangHandler> langHandlerRegistry = new ConcurrentHashMap<String, LangHandler>();
+
+    /**
+     * The handler of a language. The lexer is compiled the first time the
+     * language is used, languages which never appear cost nothing.
+     * <p>
+     * The lexer is compiled once even if several threads ask for it at the
+     * same time, and it is read without locking once compiled.
+     */
+    protected abstract class LangHandler {
+
+        private volatile CreateSimpleLexer lexer;
+
+        /**
+         * Compile the lexer of the language.
+         *
+         * @return the lexer
+         */
+        protected abstract CreateSimpleLexer compile() throws Exception;
+
+        /**
+         * Get the lexer, compile it if it is not compiled yet.
+         *
+         * @return the lexer
+         */
+        CreateSimpleLexer getLexer() throws Exception {
+            CreateSimpleLexer _lexer = lexer;
+            if (_lexer == null) {
+                synchronized (this) {
+                    _lexer = lexer;
+                    if (_lexer == null) {
+                        _lexer = compile();
+                        lexer = _lexer;
+                    }
+                }
+            }
+            return _lexer;
+        }
+    }
+
+    /**
+     * The handler of a {@link Lang} class, the class is instantiated when
+     * the lexer is compiled.
+     */
+    protected class LangClassHandler extends LangHandler {
+
+        private final Class<? extends Lang> clazz;
+
+        LangClassHandler(Class<? extends Lang> clazz) {
+            this.clazz = clazz;
+        }
+
+        @Override
+        protected CreateSimpleLexer compile() throws Exception {
+            Lang _lang = clazz.newInstance();
+            CreateSimpleLexer _simpleLexer = new CreateSimpleLexer(_lang.getShortcutStylePatterns(), _lang.getFallthroughStylePatterns());
+
+            List<Lang> extendedLangs = _lang.getExtendedLangs();
+            for (Lang _extendedLang : extendedLangs) {
+                register(_extendedLang.getClass());
+            }
+            return _simpleLexer;
+        }
+    }
 
     /**
-     * Register a language handler for the given file extensions.
+     * Register a compiled language handler for the given file extensions.
      *
      * @param handler        a function from source code to a list
      *                       of decorations.  Takes a single argument job which describes the
@@ -828,19 +1102,50 @@ public class Prettify {
      *                       } }
      * @param fileExtensions
      */
-    protected void registerLangHandler(CreateSimpleLexer handler, List<String> fileExtensions) throws Exception {
+    protected void registerLangHandler(final CreateSimpleLexer handler, List<String> fileExtensions) throws Exception {
+        registerLangHandler(new LangHandler() {
+            @Override
+            protected CreateSimpleLexer compile() {
+                return handler;
+            }
+        }, fileExtensions);
+    }
+
+    /**
+     * Register a language handler for the given file extensions, the lexer
+     * is compiled on first use.
+     *
+     * @param handler        the handler
+     * @param fileExtensions the file extensions
+     */
+    protected void registerLangHandler(LangHandler handler, List<String> fileExtensions) throws Exception {
         for (int i = fileExtensions.size(); --i >= 0; ) {
             String ext = fileExtensions.get(i);
-            if (langHandlerRegistry.get(ext) == null) {
-                langHandlerRegistry.put(ext, handler);
-            } else {
+            if (langHandlerRegistry.putIfAbsent(ext, handler) != null) {
                 throw new Exception("cannot override language handler " + ext);
             }
         }
     }
 
     /**
-     * Register language handler. The clazz will not be instantiated
+     * Register a language handler built by {@link #sourceDecorator(Map)} with
+     * the options, the lexer is compiled on first use.
+     *
+     * @param options        the options of {@link #sourceDecorator(Map)}
+     * @param fileExtensions the file extensions
+     */
+    protected void registerSourceDecorator(final Map<String, Object> options, List<String> fileExtensions) throws Exception {
+        registerLangHandler(new LangHandler() {
+            @Override
+            protected CreateSimpleLexer compile() throws Exception {
+                return sourceDecorator(options);
+            }
+        }, fileExtensions);
+    }
+
+    /**
+     * Register language handler. The clazz will not be instantiated until
+     * the language is used.
      *
      * @param clazz the class of the language
      * @throws Exception cannot instantiate the object using the class,
@@ -850,15 +1155,7 @@ public class Prettify {
         if (clazz == null) {
             throw new NullPointerException("argument 'clazz' cannot be null");
         }
-        List<String> fileExtensions = getFileExtensionsFromClass(clazz);
-        for (int i = fileExtensions.size(); --i >= 0; ) {
-            String ext = fileExtensions.get(i);
-            if (langHandlerRegistry.get(ext) == null) {
-                langHandlerRegistry.put(ext, clazz);
-            } else {
-                throw new Exception("cannot override language handler " + ext);
-            }
-        }
+        registerLangHandler(new LangClassHandler(clazz), getFileExtensionsFromClass(clazz));
     }
 
     protected List<String> getFileExtensionsFromClass(Class<? extends Lang> clazz) throws Exception {
@@ -874,38 +1171,21 @@ public class Prettify {
      * @return the parser
      */
     public CreateSimpleLexer langHandlerForExtension(String extension, String source) {
-        if (!(extension != null && langHandlerRegistry.get(extension) != null)) {
+        LangHandler handler = extension != null ? langHandlerRegistry.get(extension) : null;
+        if (handler == null) {
             // Treat it as markup if the first non whitespace character is a < and
             // the last non-whitespace character is a >.
-            extension = Util.test(Pattern.compile("^\\s*<"), source)
+            extension = Util.test(MARKUP_PATTERN, source)
                     ? "default-markup"
                     : "default-code";
+            handler = langHandlerRegistry.get(extension);
         }
 
-        Object handler = langHandlerRegistry.get(extension);
-        if (handler instanceof CreateSimpleLexer) {
-            return (CreateSimpleLexer) handler;
-        } else {
-            CreateSimpleLexer _simpleLexer;
-            try {
-                Lang _lang = ((Class<Lang>) handler).newInstance();
-                _simpleLexer = new CreateSimpleLexer(_lang.getShortcutStylePatterns(), _lang.getFallthroughStylePatterns());
-
-                List<Lang> extendedLangs = _lang.getExtendedLangs();
-                for (Lang _extendedLang : extendedLangs) {
-                    register(_extendedLang.getClass());
-                }
-
-                List<String> fileExtensions = getFileExtensionsFromClass((Class<Lang>) handler);
-                for (String _extension : fileExtensions) {
-                    langHandlerRegistry.put(_extension, _simpleLexer);
-                }
-            } catch (Exception ex) {
-                LOG.log(Level.SEVERE, null, ex);
-                return null;
-            }
-
-            return _simpleLexer;
+        try {
+            return handler.getLexer();
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, null, ex);
+            return null;
         }
     }
 }
@@ -38,4 +38,15 @@ public interface Parser {
      * @return the parsed result
      */
     List<ParseResult> parse(String fileExtension, String content);
+
+    /**
+     * Parse the {@code content} and write the parsed result to {@code out},
+     * no object is created for each token.
+     *
+     * @param fileExtension the file extension of the content, null means not
+     *                      provided
+     * @param content       the content
+     * @param out           the parsed result, it is cleared first
+     */
+    void parse(String fileExtension, String content, TokenStream out);
 }
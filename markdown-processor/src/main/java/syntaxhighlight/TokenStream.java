@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package syntaxhighlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The parsed result in primitive arrays.
+ * <p>
+ * The n<sup>th</sup> token starts at {@link #getStart(int)} and ends at the start of the next token,
+ * its style is an id interned by {@link #getStyleId(String)}, so no object is created for a token.
+ */
+public class TokenStream {
+    /**
+     * The max count of style ids, the ids are stored in bytes.
+     */
+    public static final int MAX_STYLE_COUNT = 128;
+
+    private static final ConcurrentMap<String, Integer> sStyleIds = new ConcurrentHashMap<>();
+    private static volatile String[] sStyleNames = new String[0];
+
+    static {
+        //the style ids of prettify, the plain text is 0
+        String[] styles = {"pln", "str", "kwd", "com", "typ", "lit", "pun", "tag", "dec", "src",
+                "atn", "atv", "nocode", "opn", "clo", "var", "fun"};
+        for (String style : styles) {
+            getStyleId(style);
+        }
+    }
+
+    private int[] mStarts;
+    private byte[] mStyles;
+    private int mSize;
+    private int mLength;
+
+    public TokenStream() {
+        this(16);
+    }
+
+    public TokenStream(int capacity) {
+        mStarts = new int[Math.max(capacity, 1)];
+        mStyles = new byte[mStarts.length];
+    }
+
+    /**
+     * copy the tokens
+     *
+     * @param other the tokens
+     */
+    public TokenStream(TokenStream other) {
+        mStarts = new int[Math.max(other.mSize, 1)];
+        mStyles = new byte[mStarts.length];
+        System.arraycopy(other.mStarts, 0, mStarts, 0, other.mSize);
+        System.arraycopy(other.mStyles, 0, mStyles, 0, other.mSize);
+        mSize = other.mSize;
+        mLength = other.mLength;
+    }
+
+    /**
+     * get the id of style name, the id is assigned when the name is seen for the first time
+     *
+     * @param style the style name, such as "kwd"
+     * @return the id
+     */
+    public static int getStyleId(String style) {
+        Integer id = sStyleIds.get(style);
+        if (id != null) {
+            return id;
+        }
+        synchronized (sStyleIds) {
+            id = sStyleIds.get(style);
+            if (id == null) {
+                String[] names = sStyleNames;
+                if (names.length >= MAX_STYLE_COUNT) {
+                    throw new IllegalStateException("too many styles, " + style);
+                }
+                String[] newNames = new String[names.length + 1];
+                System.arraycopy(names, 0, newNames, 0, names.length);
+                newNames[names.length] = style;
+                sStyleNames = newNames;
+                id = names.length;
+                sStyleIds.put(style, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * get the style name of id
+     *
+     * @param id the id
+     * @return the style name
+     */
+    public static String getStyleName(int id) {
+        return sStyleNames[id];
+    }
+
+    /**
+     * the count of style ids assigned, the ids are from 0 to count - 1
+     */
+    public static int getStyleCount() {
+        return sStyleNames.length;
+    }
+
+    /**
+     * clear the tokens, the arrays are kept for reusing
+     */
+    public void clear() {
+        mSize = 0;
+        mLength = 0;
+    }
+
+    /**
+     * add the token, the start should be equal to or greater than the start of last token.
+     * <p>
+     * The token with the same start as the last one replaces it, and the token with the same style as the last one is merged into it.
+     *
+     * @param start   the start position
+     * @param styleId the id of style
+     */
+    public void add(int start, int styleId) {
+        if (mSize > 0 && mStarts[mSize - 1] == start) {
+            mSize--;
+        }
+        if (mSize > 0 && mStyles[mSize - 1] == styleId) {
+            return;
+        }
+        if (mSize == mStarts.length) {
+            int[] starts = new int[mSize * 2];
+            byte[] styles = new byte[mSize * 2];
+            System.arraycopy(mStarts, 0, starts, 0, mSize);
+            System.arraycopy(mStyles, 0, styles, 0, mSize);
+            mStarts = starts;
+            mStyles = styles;
+        }
+        mStarts[mSize] = start;
+        mStyles[mSize] = (byte) styleId;
+        mSize++;
+    }
+
+    /**
+     * all tokens are added, the last token which is empty is removed
+     *
+     * @param length the end position of the last token
+     */
+    public void finish(int length) {
+        if (mSize >= 2 && mStarts[mSize - 1] == length) {
+            mSize--;
+        }
+        mLength = length;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int getStart(int index) {
+        return mStarts[index];
+    }
+
+    public int getEnd(int index) {
+        return index + 1 < mSize ? mStarts[index + 1] : mLength;
+    }
+
+    public int getStyle(int index) {
+        return mStyles[index];
+    }
+
+    /**
+     * the end position of the last token
+     */
+    public int getLength() {
+        return mLength;
+    }
+
+    /**
+     * binary search the token where the position is
+     *
+     * @param position the position
+     * @return the index of token, -1 if the position is before the first token
+     */
+    public int indexOf(int position) {
+        int low = 0;
+        int high = mSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (mStarts[middle] <= position) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * convert to the decorations of prettify, the positions and the style names in turn
+     *
+     * @return the decorations
+     */
+    public List<Object> toDecorations() {
+        List<Object> decorations = new ArrayList<>(mSize * 2);
+        for (int i = 0; i < mSize; i++) {
+            decorations.add(mStarts[i]);
+            decorations.add(getStyleName(mStyles[i]));
+        }
+        return decorations;
+    }
+}
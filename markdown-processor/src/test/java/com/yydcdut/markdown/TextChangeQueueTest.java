@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TextChangeQueueTest {
+    private static final int BEFORE = 1;
+    private static final int ON = 2;
+    private static final int AFTER = 3;
+
+    private static final CharSequence TEXT = new StringBuilder();
+
+    @Test
+    public void testSequentialMerging() {
+        TextChangeQueue queue = new TextChangeQueue(BEFORE, AFTER);
+        assertTrue(offerEdit(queue, 0, 0, 1));
+        assertFalse(offerEdit(queue, 1, 0, 1));
+        assertFalse(offerEdit(queue, 2, 0, 1));
+        //delete the last one
+        assertFalse(offerEdit(queue, 2, 1, 0));
+
+        List<String> events = pollAll(queue);
+        assertEquals("[1:0,0,2, 2:0,0,2, 3:0,0,0]", events.toString());
+    }
+
+    @Test
+    public void testNotAdjacent() {
+        TextChangeQueue queue = new TextChangeQueue(BEFORE, AFTER);
+        offerEdit(queue, 0, 0, 1);
+        offerEdit(queue, 5, 0, 1);
+
+        List<String> events = pollAll(queue);
+        assertEquals("[1:0,0,1, 2:0,0,1, 3:0,0,0, 1:5,0,1, 2:5,0,1, 3:0,0,0]", events.toString());
+    }
+
+    @Test
+    public void testPolledBurstIsNotMerged() {
+        TextChangeQueue queue = new TextChangeQueue(BEFORE, AFTER);
+        offerEdit(queue, 0, 0, 1);
+        TextChangeQueue.Event event = new TextChangeQueue.Event();
+        assertTrue(queue.poll(event));
+        assertEquals("1:0,0,1", toString(event));
+
+        //the before event of the burst has been dispatched, the next edit is queued by itself
+        offerEdit(queue, 1, 0, 1);
+        List<String> events = pollAll(queue);
+        assertEquals("[2:0,0,1, 3:0,0,0, 1:1,0,1, 2:1,0,1, 3:0,0,0]", events.toString());
+    }
+
+    @Test
+    public void testPollWhileMerging() {
+        TextChangeQueue queue = new TextChangeQueue(BEFORE, AFTER);
+        offerEdit(queue, 0, 0, 1);
+        queue.offer(BEFORE, TEXT, 1, 0, 1, true);
+
+        //the before event is merged, the others of the edit aren't offered yet
+        TextChangeQueue.Event event = new TextChangeQueue.Event();
+        assertFalse(queue.poll(event));
+        assertFalse(queue.offer(ON, TEXT, 1, 0, 1, true));
+        assertFalse(queue.poll(event));
+        //the edit ends, the dispatching is scheduled again
+        assertTrue(queue.offer(AFTER, TEXT, 0, 0, 0, true));
+
+        List<String> events = pollAll(queue);
+        assertEquals("[1:0,0,2, 2:0,0,2, 3:0,0,0]", events.toString());
+    }
+
+    /**
+     * the before and on events are polled in pairs with the same delta, whenever they are polled
+     */
+    @Test
+    public void testInterleavedOfferAndPoll() {
+        Random random = new Random(35);
+        for (int round = 0; round < 1000; round++) {
+            TextChangeQueue queue = new TextChangeQueue(BEFORE, AFTER);
+            List<String> events = new ArrayList<>();
+            int length = 0;
+            int scheduled = 0;
+            for (int edit = 0; edit < 20; edit++) {
+                int start = random.nextInt(length + 1);
+                int before = random.nextInt(Math.min(3, length - start + 1));
+                int after = random.nextInt(3);
+                int[] whats = {BEFORE, ON, AFTER};
+                for (int what : whats) {
+                    if (queue.offer(what, TEXT, what == AFTER ? 0 : start, what == AFTER ? 0 : before,
+                            what == AFTER ? 0 : after, true)) {
+                        scheduled++;
+                    }
+                    if (scheduled > 0 && random.nextInt(3) == 0) {
+                        scheduled--;
+                        events.addAll(pollAll(queue));
+                    }
+                }
+                length += after - before;
+            }
+            events.addAll(pollAll(queue));
+
+            assertEquals(0, events.size() % 3);
+            int total = 0;
+            for (int i = 0; i < events.size(); i += 3) {
+                String before = events.get(i);
+                String on = events.get(i + 1);
+                assertTrue(before, before.startsWith("1:"));
+                assertEquals(before.substring(2), on.substring(2));
+                assertEquals("3:0,0,0", events.get(i + 2));
+                String[] delta = before.substring(2).split(",");
+                total += Integer.parseInt(delta[2]) - Integer.parseInt(delta[1]);
+            }
+            assertEquals(length, total);
+        }
+    }
+
+    private static boolean offerEdit(TextChangeQueue queue, int start, int before, int after) {
+        boolean scheduled = queue.offer(BEFORE, TEXT, start, before, after, true);
+        scheduled |= queue.offer(ON, TEXT, start, before, after, true);
+        scheduled |= queue.offer(AFTER, TEXT, 0, 0, 0, true);
+        return scheduled;
+    }
+
+    private static List<String> pollAll(TextChangeQueue queue) {
+        List<String> events = new ArrayList<>();
+        TextChangeQueue.Event event = new TextChangeQueue.Event();
+        while (queue.poll(event)) {
+            events.add(toString(event));
+        }
+        return events;
+    }
+
+    private static String toString(TextChangeQueue.Event event) {
+        return event.what + ":" + event.start + "," + event.before + "," + event.after;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The lines updated by the changes should be the same as the ones indexed again.
+ */
+public class ListIndexTest {
+    private static final String[] PIECES = {"1. ", "12. ", "- ", "* ", "+ ", "1.", "-", "\n", "\n", " ", "  ", "a", "9"};
+
+    @Test
+    public void testRandomEdits() {
+        for (int seed = 0; seed < 500; seed++) {
+            Random random = new Random(seed);
+            StringBuilder text = new StringBuilder(randomText(random, random.nextInt(30)));
+            ListIndex index = build(text);
+            for (int step = 0; step < 100; step++) {
+                int start = random.nextInt(text.length() + 1);
+                int before = random.nextInt(Math.min(10, text.length() - start) + 1);
+                String replacement = randomText(random, random.nextInt(4));
+                text.replace(start, start + before, replacement);
+                index.onTextChanged(text, start, before, replacement.length());
+                check(text, index);
+            }
+        }
+    }
+
+    /**
+     * insert an item into an order list and renumber the following items like the list controller
+     */
+    @Test
+    public void testRenumber() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 12; i++) {
+            text.append(i).append(". item\n");
+            text.append("  - nested\n");
+        }
+        ListIndex index = build(text);
+        int start = index.getLineEnd(text, 0);
+        text.insert(start, "\n2. ");
+        index.onTextChanged(text, start, 0, 4);
+        check(text, index);
+
+        for (int line = index.getCount() - 1; line > 1; line--) {
+            if (index.getType(line) != ListIndex.TYPE_ORDER) {
+                continue;
+            }
+            int digitStart = index.getLineStart(line);
+            int digits = index.getDigits(line);
+            String number = String.valueOf(index.getNumber(line) + 1);
+            text.replace(digitStart, digitStart + digits, number);
+            index.onTextChanged(text, digitStart, digits, number.length());
+            check(text, index);
+        }
+        assertTrue(text.toString().startsWith("1. item\n2. \n  - nested\n3. item\n"));
+        assertEquals(13, index.getNumber(index.getLine(text.length() - 20)));
+    }
+
+    @Test
+    public void testDeleteLines() {
+        StringBuilder text = new StringBuilder("1. a\n2. b\n- c\n  3. d\ne");
+        ListIndex index = build(text);
+        text.delete(3, 12);
+        index.onTextChanged(text, 3, 9, 0);
+        check(text, index);
+        assertEquals(3, index.getCount());
+        assertEquals(ListIndex.TYPE_ORDER, index.getType(1));
+        assertEquals(2, index.getNested(1));
+        assertEquals(3, index.getNumber(1));
+    }
+
+    private static ListIndex build(CharSequence text) {
+        ListIndex index = new ListIndex();
+        index.onTextChanged(text, 0, 0, text.length());
+        assertTrue(index.isValid(text));
+        return index;
+    }
+
+    private static void check(CharSequence text, ListIndex index) {
+        ListIndex expected = build(text);
+        assertEquals(expected.getCount(), index.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            String line = text + " at line " + i;
+            assertEquals(line, expected.getLineStart(i), index.getLineStart(i));
+            assertEquals(line, expected.getType(i), index.getType(i));
+            assertEquals(line, expected.getNested(i), index.getNested(i));
+            assertEquals(line, expected.getNumber(i), index.getNumber(i));
+            assertEquals(line, expected.getDigits(i), index.getDigits(i));
+        }
+    }
+
+    private static String randomText(Random random, int pieces) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pieces; i++) {
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The start positions of paragraphs updated by the changes should be the same as the ones indexed again.
+ */
+public class ParagraphIndexTest {
+    private static final String CHARS = "ab\n\n`` #";
+
+    @Test
+    public void testRandomEdits() {
+        for (int seed = 0; seed < 500; seed++) {
+            Random random = new Random(seed);
+            StringBuilder text = new StringBuilder(randomText(random, random.nextInt(100)));
+            ParagraphIndex index = new ParagraphIndex();
+            index.reset(text);
+            for (int step = 0; step < 100; step++) {
+                int start = random.nextInt(text.length() + 1);
+                int before = random.nextInt(Math.min(10, text.length() - start) + 1);
+                String replacement = randomText(random, random.nextInt(10));
+                index.beforeTextChanged(text, start, before, replacement.length());
+                text.replace(start, start + before, replacement);
+                index.onTextChanged(text, start, before, replacement.length());
+                assertFalse(index.isRebuilt());
+
+                ParagraphIndex expected = new ParagraphIndex();
+                expected.reset(text);
+                assertEquals(expected.getParagraphCount(), index.getParagraphCount());
+                for (int i = 0; i < expected.getParagraphCount(); i++) {
+                    assertEquals(expected.getParagraphStart(i), index.getParagraphStart(i));
+                }
+                index.clean();
+            }
+        }
+    }
+
+    @Test
+    public void testChangeWithoutNotification() {
+        StringBuilder text = new StringBuilder("a\nb\nc");
+        ParagraphIndex index = new ParagraphIndex();
+        index.reset(text);
+        //the text is changed without beforeTextChanged and onTextChanged
+        text.insert(0, "\n\n");
+        text.append('\n');
+        index.onTextChanged(text, 1, 0, 1);
+        assertTrue(index.isRebuilt());
+        assertEquals(6, index.getParagraphCount());
+        assertEquals(8, index.getParagraphStart(5));
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(CHARS.charAt(random.nextInt(CHARS.length())));
+        }
+        return sb.toString();
+    }
+}
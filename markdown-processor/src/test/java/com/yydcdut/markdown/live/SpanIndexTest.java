@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.yydcdut.markdown.live;
+
+import android.text.SpanWatcher;
+import android.text.Spannable;
+import android.text.TextWatcher;
+
+import com.yydcdut.markdown.span.MDHorizontalRulesSpan;
+
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * The spans from {@link SpanIndex} should be the same as a scan of all the spans of the text, in the same order,
+ * while the text and the spans are changed randomly.
+ */
+public class SpanIndexTest {
+
+    @Test
+    public void testRandomEdits() {
+        for (int seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            FakeText text = new FakeText(1000);
+            for (int i = 0; i < 30; i++) {
+                int start = random.nextInt(text.length());
+                text.mSpans.put(new MDHorizontalRulesSpan(0, 1), new int[]{start, Math.min(text.length(), start + random.nextInt(20))});
+            }
+            SpanIndex index = new SpanIndex();
+            index.attach(text);
+            text.mIndex = index;
+
+            for (int step = 0; step < 300; step++) {
+                int op = random.nextInt(10);
+                if (op < 6) {
+                    int start = random.nextInt(text.length() + 1);
+                    int before = Math.min(text.length() - start, random.nextInt(3) == 0 ? random.nextInt(30) : 0);
+                    int after = random.nextInt(3) == 0 ? 0 : random.nextInt(40);
+                    text.replace(random, start, before, after);
+                } else if (op < 7) {
+                    int start = random.nextInt(text.length() + 1);
+                    text.setSpan(new MDHorizontalRulesSpan(0, 1), start, Math.min(text.length(), start + random.nextInt(20)), 0);
+                } else if (op < 8 && !text.mSpans.isEmpty()) {
+                    text.removeSpan(text.randomSpan(random));
+                } else if (!text.mSpans.isEmpty()) {
+                    int start = random.nextInt(text.length() + 1);
+                    text.setSpan(text.randomSpan(random), start, Math.min(text.length(), start + random.nextInt(20)), 0);
+                }
+                check(random, text, index);
+            }
+        }
+    }
+
+    private static void check(Random random, FakeText text, SpanIndex index) {
+        for (int i = 0; i < 20; i++) {
+            int start = random.nextInt(text.length() + 1);
+            int end = Math.min(text.length(), start + random.nextInt(3) * random.nextInt(30));
+            assertArrayEquals(text.getSpans(start, end, MDHorizontalRulesSpan.class),
+                    index.getSpans(text, start, end, MDHorizontalRulesSpan.class));
+        }
+    }
+
+    /**
+     * the spans in the order they are added, the text watchers are notified before the span watchers of the moved spans,
+     * the same as {@link android.text.SpannableStringBuilder}
+     */
+    private static class FakeText implements Spannable {
+        private final Map<Object, int[]> mSpans = new LinkedHashMap<>();
+        private final List<Object> mWatchers = new ArrayList<>();
+        private int mLength;
+        private SpanIndex mIndex;
+
+        FakeText(int length) {
+            mLength = length;
+        }
+
+        @Override
+        public int length() {
+            return mLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return 'a';
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T[] getSpans(int start, int end, Class<T> type) {
+            List<T> list = new ArrayList<>();
+            for (Map.Entry<Object, int[]> entry : mSpans.entrySet()) {
+                int spanStart = entry.getValue()[0];
+                int spanEnd = entry.getValue()[1];
+                if (type.isInstance(entry.getKey()) && spanEnd >= start && spanStart <= end
+                        && (spanStart == spanEnd || start == end || (spanStart != end && spanEnd != start))) {
+                    list.add(type.cast(entry.getKey()));
+                }
+            }
+            @SuppressWarnings("unchecked")
+            T[] spans = (T[]) Array.newInstance(type, list.size());
+            return list.toArray(spans);
+        }
+
+        @Override
+        public int getSpanStart(Object tag) {
+            int[] position = mSpans.get(tag);
+            return position == null ? -1 : position[0];
+        }
+
+        @Override
+        public int getSpanEnd(Object tag) {
+            int[] position = mSpans.get(tag);
+            return position == null ? -1 : position[1];
+        }
+
+        @Override
+        public int getSpanFlags(Object tag) {
+            return 0;
+        }
+
+        @Override
+        public int nextSpanTransition(int start, int limit, Class type) {
+            return limit;
+        }
+
+        @Override
+        public void setSpan(Object what, int start, int end, int flags) {
+            if (what instanceof SpanIndex) {
+                mWatchers.add(what);
+                return;
+            }
+            int[] old = mSpans.get(what);
+            mSpans.put(what, new int[]{start, end});
+            for (Object watcher : mWatchers) {
+                if (old == null) {
+                    ((SpanWatcher) watcher).onSpanAdded(this, what, start, end);
+                } else {
+                    ((SpanWatcher) watcher).onSpanChanged(this, what, old[0], old[1], start, end);
+                }
+            }
+        }
+
+        @Override
+        public void removeSpan(Object what) {
+            if (what instanceof SpanIndex) {
+                mWatchers.remove(what);
+                return;
+            }
+            int[] old = mSpans.remove(what);
+            if (old != null) {
+                for (Object watcher : mWatchers) {
+                    ((SpanWatcher) watcher).onSpanRemoved(this, what, old[0], old[1]);
+                }
+            }
+        }
+
+        Object randomSpan(Random random) {
+            return new ArrayList<>(mSpans.keySet()).get(random.nextInt(mSpans.size()));
+        }
+
+        /**
+         * replace the text, some spans touching the changed text are removed while changing
+         */
+        void replace(Random random, int start, int before, int after) {
+            final int oldEnd = start + before;
+            Map<Object, int[]> olds = new HashMap<>();
+            for (Object span : new ArrayList<>(mSpans.keySet())) {
+                int[] position = mSpans.get(span);
+                if (position[1] >= start && position[0] <= oldEnd && random.nextInt(4) == 0) {
+                    removeSpan(span);
+                    continue;
+                }
+                olds.put(span, position.clone());
+                int newStart = map(position[0], start, oldEnd, after, false);
+                position[1] = Math.max(newStart, map(position[1], start, oldEnd, after, true));
+                position[0] = newStart;
+            }
+            mLength += after - before;
+            for (Object watcher : mWatchers) {
+                ((TextWatcher) watcher).onTextChanged(this, start, before, after);
+            }
+            //the spans are moved before the span watchers are notified
+            check(random, this, mIndex);
+            for (Map.Entry<Object, int[]> entry : olds.entrySet()) {
+                int[] position = mSpans.get(entry.getKey());
+                int[] old = entry.getValue();
+                if (position[0] != old[0] || position[1] != old[1]) {
+                    for (Object watcher : mWatchers) {
+                        ((SpanWatcher) watcher).onSpanChanged(this, entry.getKey(), old[0], old[1], position[0], position[1]);
+                    }
+                }
+            }
+        }
+
+        private static int map(int position, int start, int oldEnd, int after, boolean isEnd) {
+            if (position > oldEnd) {
+                return position + after - (oldEnd - start);
+            }
+            if (position < start || (position == start && !isEnd)) {
+                return position;
+            }
+            return start + after;
+        }
+    }
+}
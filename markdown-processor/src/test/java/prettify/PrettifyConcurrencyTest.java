@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import prettify.parser.Prettify;
+import syntaxhighlight.TokenStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Highlight many languages from many threads, the languages are compiled lazily by the first thread using them,
+ * every thread should get the same tokens as a single thread.
+ */
+public class PrettifyConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int TASKS = 32;
+    private static final int ROUNDS = 10;
+
+    private static final String[] EXTENSIONS = {
+            "java", "html", "xml", "css", "py", "sql", "lisp", "yaml", "go", "hs", "ml", "scala", "vb", "tex", "lua",
+            "rb", "js", "c", "cs", "sh", "proto", "clj", "erl", "dart", "rust", "xq", "wiki", "tcl", "vhdl", "pascal",
+            "n", "r", "rd", "matlab", "llvm", "basic", "apollo", "mumps", "coffee", "perl", "json", "regex"};
+
+    private static final String SOURCE = "<a x='1'><script>var x = /a+/; function f() { return 1; }</script>"
+            + "<style>b { color: #fff; }</style></a>\n"
+            + "// comment\n"
+            + "/* block\n comment */\n"
+            + "int x = \"string\"; char c = 'c'; (defun f (x) x)\n"
+            + "SELECT a FROM b WHERE c = 1; # hash comment\n"
+            + "def f(self): return None if x else 0x1F\n"
+            + "key: [1, 2.5e3, true]\n";
+
+    @Test
+    public void testConcurrentHighlight() throws Exception {
+        final List<String> expected = highlightAll(new Prettify(), 0);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                //a new prettify compiles the languages again, from all the threads at the same time
+                final Prettify prettify = new Prettify();
+                final CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<String>>> futures = new ArrayList<>(TASKS);
+                for (int task = 0; task < TASKS; task++) {
+                    final int offset = task;
+                    futures.add(executorService.submit(new Callable<List<String>>() {
+                        @Override
+                        public List<String> call() throws Exception {
+                            start.await();
+                            return highlightAll(prettify, offset);
+                        }
+                    }));
+                }
+                start.countDown();
+                for (Future<List<String>> future : futures) {
+                    assertEquals(expected, future.get());
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * highlight all the languages, starting from the language at offset
+     *
+     * @return the tokens of the languages in the order of {@link #EXTENSIONS}
+     */
+    private static List<String> highlightAll(Prettify prettify, int offset) {
+        String[] results = new String[EXTENSIONS.length];
+        for (int i = 0; i < EXTENSIONS.length; i++) {
+            int index = (i + offset) % EXTENSIONS.length;
+            TokenStream tokens = new TokenStream();
+            prettify.langHandlerForExtension(EXTENSIONS[index], SOURCE).decorate(SOURCE, tokens);
+            results[index] = EXTENSIONS[index] + tokens.toDecorations();
+        }
+        return Arrays.asList(results);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify.parser;
+
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generate {@link PrecompiledLexerTable}, run it after a language is changed:
+ * <pre>
+ * ./gradlew :markdown-benchmark:updateLexerTable
+ * </pre>
+ * The lexers of all registered languages are compiled and their combined tokenizers are written to the table,
+ * {@link PrecompiledLexerTableTest} and {@code ./gradlew :markdown-benchmark:verifyLexerTable} fail when the table is stale.
+ * <p>
+ * The shortcut tables aren't in the table, they only map the first characters to the patterns already compiled.
+ */
+public class LexerTableGenerator {
+
+    /**
+     * the max length of a string constant in class file is 65535 in modified UTF-8,
+     * the tokenizer is split into parts
+     */
+    private static final int MAX_PART_LENGTH = 16 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("usage: LexerTableGenerator <path of PrecompiledLexerTable.java>");
+            System.exit(1);
+        }
+        Map<Long, Prettify.CreateSimpleLexer> lexers = compileAll(new Prettify());
+        Writer writer = new OutputStreamWriter(new FileOutputStream(args[0]), "UTF-8");
+        try {
+            writer.write("// GENERATED BY prettify.parser.LexerTableGenerator, DO NOT EDIT.\n");
+            writer.write("package prettify.parser;\n\n");
+            writer.write("final class PrecompiledLexerTable {\n\n");
+            writer.write("    static final long[] FINGERPRINTS = {\n");
+            for (Long fingerprint : lexers.keySet()) {
+                writer.write("            " + fingerprint + "L,\n");
+            }
+            writer.write("    };\n\n");
+            writer.write("    static final int[] FLAGS = {\n");
+            for (Prettify.CreateSimpleLexer lexer : lexers.values()) {
+                writer.write("            " + lexer.tokenizer.flags() + ",\n");
+            }
+            writer.write("    };\n\n");
+            writer.write("    static final String[][] TOKENIZERS = {\n");
+            for (Prettify.CreateSimpleLexer lexer : lexers.values()) {
+                String tokenizer = lexer.tokenizer.pattern();
+                writer.write("            {");
+                for (int start = 0; start < tokenizer.length(); start += MAX_PART_LENGTH) {
+                    writer.write(start == 0 ? "\n" : ",\n");
+                    writer.write("                    \"" + escape(tokenizer.substring(start, Math.min(start + MAX_PART_LENGTH, tokenizer.length()))) + "\"");
+                }
+                writer.write("},\n");
+            }
+            writer.write("    };\n\n");
+            writer.write("    private PrecompiledLexerTable() {\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * compile the lexers of all registered languages
+     *
+     * @return the lexers by their fingerprints
+     */
+    static Map<Long, Prettify.CreateSimpleLexer> compileAll(Prettify prettify) throws Exception {
+        Map<Long, Prettify.CreateSimpleLexer> lexers = new TreeMap<Long, Prettify.CreateSimpleLexer>();
+        Set<Prettify.LangHandler> compiled = new HashSet<Prettify.LangHandler>();
+        //the extended languages are registered when their languages are compiled
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Prettify.LangHandler handler : new ArrayList<Prettify.LangHandler>(prettify.langHandlerRegistry.values())) {
+                if (compiled.add(handler)) {
+                    Prettify.CreateSimpleLexer lexer = handler.getLexer();
+                    lexers.put(lexer.fingerprint, lexer);
+                    changed = true;
+                }
+            }
+        }
+        return lexers;
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length() * 2);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                //octal escape, unicode escapes of line terminators break the source
+                sb.append(String.format("\\%03o", (int) c));
+            } else if (c >= 0x7f) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 yydcdut (yuyidong2015@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package prettify.parser;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import syntaxhighlight.TokenStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * The tokenizers in {@link PrecompiledLexerTable} should be the same as the tokenizers combined at runtime,
+ * run {@link LexerTableGenerator} if it fails.
+ */
+public class PrecompiledLexerTableTest {
+
+    private static final String SOURCE = "<a x='1'><script>var x = /a+/; function f() { return 1; }</script>"
+            + "<style>b { color: #fff; background: url(a.png) }</style><!-- comment --></a>\n"
+            + "// comment\n"
+            + "/* block\n comment */\n"
+            + "#include <stdio.h>\n"
+            + "int x = \"string\\n\"; char c = 'c'; (defun f (x) x) ; lisp comment\n"
+            + "SELECT a FROM b WHERE c = 1; -- sql comment\n"
+            + "def f(self): return None if x else 0x1F # python comment\n"
+            + "key: [1, 2.5e3, true, null] % tex comment\n"
+            + "\tlocal t = {} --[[ lua ]] \u00e9\u4e2d\u6587 end\n";
+
+    @Test
+    public void testTableIsUpToDate() throws Exception {
+        Map<Long, Prettify.CreateSimpleLexer> lexers = LexerTableGenerator.compileAll(new Prettify());
+        for (Prettify.CreateSimpleLexer lexer : lexers.values()) {
+            Pattern precompiled = PrecompiledLexers.get(lexer.fingerprint);
+            assertNotNull("not in the table: " + lexer.regexs, precompiled);
+
+            Pattern combined = new CombinePrefixPattern().combinePrefixPattern(lexer.regexs);
+            assertEquals(combined.pattern(), precompiled.pattern());
+            assertEquals(combined.flags(), precompiled.flags());
+
+            String source = SOURCE;
+            if (lexer.nPatterns == 0) {
+                //the lexer only takes the text of its shortcuts, such as the #pragma of wiki.meta
+                StringBuilder sb = new StringBuilder();
+                for (Character shortcut : lexer.shortcuts.keySet()) {
+                    sb.append(shortcut).append("pragma");
+                }
+                source = sb.toString();
+            }
+            lexer.tokenizer = combined;
+            TokenStream expected = new TokenStream();
+            lexer.decorate(source, expected);
+            lexer.tokenizer = precompiled;
+            TokenStream actual = new TokenStream();
+            lexer.decorate(source, actual);
+            assertEquals(expected.toDecorations(), actual.toDecorations());
+        }
+    }
+}
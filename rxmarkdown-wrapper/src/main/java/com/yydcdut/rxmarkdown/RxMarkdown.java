@@ -113,7 +113,7 @@ public class RxMarkdown {
     }
 
     /**
-     * begin parsing
+     * begin parsing, the outline of headers of the parsed content is got by {@link com.yydcdut.markdown.MarkdownProcessor#getOutline(CharSequence)}
      *
      * @return RxJava Observable
      */